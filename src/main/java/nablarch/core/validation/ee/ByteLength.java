@@ -0,0 +1,253 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.util.StringUtil;
+import nablarch.core.util.annotation.Published;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+
+import static java.lang.annotation.ElementType.*;
+
+
+/**
+ * 指定された文字コードでエンコードした際のバイト長が、指定された範囲内であることを表すアノテーション。
+ * <br/>
+ * 入力値がnull又は空文字の場合は、validと判定する。
+ * <p/>
+ * データベースのカラム長がバイト数で定義されている場合に使用する。
+ * バイト長は{@link String#getBytes(Charset)}でエンコードした場合と同じである。
+ * すなわち、指定された文字コードで表現できない文字は、文字コードの置換文字(多くの場合は{@code ?})として数える。
+ *
+ * エラー時のメッセージは、以下のルールにより決定される。
+ * <ol>
+ *     <li>{@link #message()}が指定されている場合は、その値を使用する。</li>
+ *     <li>{@link #message()}が未指定で{@link #min()}のみ指定の場合は、<b>{nablarch.core.validation.ee.ByteLength.min.message}</b></li>
+ *     <li>{@link #message()}が未指定で{@link #max()}のみ指定の場合は、<b>{nablarch.core.validation.ee.ByteLength.max.message}</b></li>
+ *     <li>{@link #message()}が未指定で{@link #max()}と{@link #min()}に指定した値が同じ場合は、<b>{nablarch.core.validation.ee.ByteLength.fixed.message}</b></li>
+ *     <li>{@link #message()}が未指定で{@link #min()}と{@link #max()}に指定した値が異なる場合は、<b>{nablarch.core.validation.ee.ByteLength.min.max.message}</b></li>
+ * </ol>
+ *
+ * 使用例を以下に示す。
+ * <pre>
+ * {@code @ByteLength(max = 40, charset = "Windows-31J")}
+ * private String name;
+ * </pre>
+ *
+ * @see Length
+ */
+@Target({METHOD, FIELD, ANNOTATION_TYPE, CONSTRUCTOR, PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Constraint(validatedBy = {ByteLength.ByteLengthValidator.class})
+@Published
+public @interface ByteLength {
+
+    /** グループ */
+    Class<?>[] groups() default {};
+
+    /** メッセージ */
+    String message() default "";
+
+    /** payload */
+    Class<? extends Payload>[] payload() default {};
+
+    /** 複数指定用のアノテーション */
+    @Target({METHOD, FIELD, ANNOTATION_TYPE, CONSTRUCTOR, PARAMETER})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Documented
+    @interface List {
+        ByteLength[] value();
+    }
+
+    /** 最小のバイト長。*/
+    int min() default 0;
+
+    /** 最大のバイト長。*/
+    int max() default 0;
+
+    /** エンコードに使用する文字コード。*/
+    String charset() default "UTF-8";
+
+    /**
+     * バイト長のバリデーションを行う{@link ConstraintValidator}実装クラス。<br/>
+     * <p/>
+     * UTF-8の場合は、エンコードせずに文字ごとのバイト数を合計する。
+     * それ以外の文字コードの場合は、小さなバッファに少しずつエンコードしながらバイト数を合計する。
+     * いずれの場合も、最大のバイト長を超えた時点で数えるのをやめる。
+     */
+    class ByteLengthValidator implements ConstraintValidator<ByteLength, CharSequence> {
+
+        /** エンコードに使用するバッファのサイズ */
+        private static final int BUFFER_SIZE = 64;
+
+        /** デフォルトメッセージ(最小値のみ) */
+        private static final String MIN_MESSAGE = "{nablarch.core.validation.ee.ByteLength.min.message}";
+
+        /** デフォルトメッセージ(最大値のみ) */
+        private static final String MAX_MESSAGE = "{nablarch.core.validation.ee.ByteLength.max.message}";
+
+        /** デフォルトメッセージ(固定長) */
+        private static final String FIXED_MESSAGE = "{nablarch.core.validation.ee.ByteLength.fixed.message}";
+
+        /** デフォルトメッセージ(可変長) */
+        private static final String MIN_MAX_MESSAGE = "{nablarch.core.validation.ee.ByteLength.min.max.message}";
+
+        /** 最大値 */
+        private int max;
+
+        /** 最小値 */
+        private int min;
+
+        /** メッセージ */
+        private String message;
+
+        /** 文字コード */
+        private Charset charset;
+
+        /** 文字コードがUTF-8かどうか */
+        private boolean utf8;
+
+        /** {@inheritDoc} */
+        @Override
+        public void initialize(ByteLength constraintAnnotation) {
+            min = constraintAnnotation.min();
+            max = constraintAnnotation.max();
+            message = constraintAnnotation.message();
+            charset = Charset.forName(constraintAnnotation.charset());
+            utf8 = "UTF-8".equals(charset.name());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            if (value == null || value.length() == 0) {
+                return true;
+            }
+            final int limit = max();
+            final int length = utf8 ? countUtf8Bytes(value, limit) : countEncodedBytes(value, limit);
+            if (min <= length && length <= limit) {
+                return true;
+            }
+
+            if (StringUtil.isNullOrEmpty(message)) {
+                // メッセージが指定されていない場合は、デフォルトのメッセージを構築する。
+                context.disableDefaultConstraintViolation();
+                context.buildConstraintViolationWithTemplate(getDefaultMessage())
+                       .addConstraintViolation();
+            }
+            return false;
+        }
+
+        /**
+         * UTF-8でエンコードした際のバイト長を数える。
+         * <p/>
+         * ペアになっていないサロゲートは、{@link String#getBytes(Charset)}と同じく置換文字({@code ?})の1バイトとして数える。
+         *
+         * @param value 値
+         * @param limit 数える上限。バイト長がこの値を超えた時点で数えるのをやめる
+         * @return バイト長。上限を超えた場合は上限より大きい値
+         */
+        private static int countUtf8Bytes(CharSequence value, int limit) {
+            final int length = value.length();
+            int bytes = 0;
+            int i = 0;
+            while (i < length) {
+                final char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes++;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                    bytes++;
+                } else {
+                    bytes += 3;
+                }
+                if (bytes > limit) {
+                    return bytes;
+                }
+                i++;
+            }
+            return bytes;
+        }
+
+        /**
+         * 文字コードでエンコードした際のバイト長を数える。
+         * <p/>
+         * {@link CharsetEncoder}とバッファは呼び出しごとに生成する。
+         * エンコード結果はバッファに書き込み、バッファが一杯になるたびにバイト数を合計して再利用する。
+         *
+         * @param value 値
+         * @param limit 数える上限。バイト長がこの値を超えた時点で数えるのをやめる
+         * @return バイト長。上限を超えた場合は上限より大きい値
+         */
+        private int countEncodedBytes(CharSequence value, int limit) {
+            final CharsetEncoder charsetEncoder = charset.newEncoder()
+                                                         .onMalformedInput(CodingErrorAction.REPLACE)
+                                                         .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            final CharBuffer in = CharBuffer.wrap(value);
+            int bytes = 0;
+            boolean encoded = false;
+            while (true) {
+                buffer.clear();
+                final CoderResult result = encoded ? charsetEncoder.flush(buffer) : charsetEncoder.encode(in, buffer, true);
+                bytes += buffer.position();
+                if (bytes > limit) {
+                    return bytes;
+                }
+                if (result.isUnderflow()) {
+                    if (encoded) {
+                        return bytes;
+                    }
+                    encoded = true;
+                }
+            }
+        }
+
+        /**
+         * デフォルトのメッセージ定義を返す。
+         *
+         * @return デフォルトのメッセージ定義
+         */
+        private String getDefaultMessage() {
+            final String defaultMessage;
+            if (min == 0) {
+                defaultMessage = MAX_MESSAGE;
+            } else if (max == 0) {
+                defaultMessage = MIN_MESSAGE;
+            } else if (min == max) {
+                defaultMessage = FIXED_MESSAGE;
+            } else {
+                defaultMessage = MIN_MAX_MESSAGE;
+            }
+            return defaultMessage;
+        }
+
+        /**
+         * 許容する最大のバイト長を返す。
+         * <p>
+         * {@link #max}が0の場合は{@link Integer#MAX_VALUE}を返す。
+         * {@link #max}が0以外の場合は、その値を返す。
+         *
+         * @return 最大のバイト長。
+         */
+        private int max() {
+            return max == 0 ? Integer.MAX_VALUE : max;
+        }
+    }
+}
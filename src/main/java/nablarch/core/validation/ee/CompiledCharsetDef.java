@@ -0,0 +1,570 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.validation.validator.unicode.CharsetDef;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CharsetDef}が許容するコードポイントを、判定用の表に展開したクラス。
+ * <p/>
+ * 基本多言語面(BMP)のコードポイントはビットマップで、
+ * 補助文字のコードポイントは許容範囲の配列で保持する。
+ * また、ASCII文字(U+0000～U+007F)は2つの{@code long}値のマスクでも保持し、
+ * ASCII文字が連続する箇所は4文字単位でまとめて判定する。
+ * UTF-8、US-ASCII、ISO-8859-1でエンコードされたバイト列は、文字列に変換せずに直接判定する。
+ * それ以外の文字コードのバイト列は文字に変換して判定し、変換に使用する{@link CharsetDecoder}は文字コードごとに再利用する。
+ * 展開後は元の{@link CharsetDef}を参照しないため、{@link CharsetDef}の内容は不変である必要がある。
+ *
+ * @see SystemChar.SystemCharValidator
+ */
+final class CompiledCharsetDef {
+
+    /** 展開済みの{@link CharsetDef}のキャッシュ */
+    private static final Map<CharsetDef, CompiledCharsetDef> CACHE
+            = Collections.synchronizedMap(new WeakHashMap<CharsetDef, CompiledCharsetDef>());
+
+    /** 改行コード(CR、LF)を表すマスク */
+    private static final long LINE_SEPARATOR_MASK = (1L << '\r') | (1L << '\n');
+
+    /** {@link Reader}から一度に読み込む文字数 */
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /** UTF-8 */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /** US-ASCII */
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    /** ISO-8859-1 */
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    /** ASCII文字をまとめて判定する単位 */
+    private static final int ASCII_BLOCK_SIZE = 4;
+
+    /** 文字コードごとに保持する{@link CharsetDecoder}の最大数 */
+    private static final int MAX_POOLED_DECODERS = 16;
+
+    /** 文字コードごとの再利用可能な{@link CharsetDecoder} */
+    private static final ConcurrentMap<Charset, BlockingQueue<CharsetDecoder>> DECODERS
+            = new ConcurrentHashMap<Charset, BlockingQueue<CharsetDecoder>>();
+
+    /** 基本多言語面のビットマップ */
+    private final long[] bmp;
+
+    /** U+0000～U+003Fのマスク */
+    private final long asciiLow;
+
+    /** U+0040～U+007Fのマスク */
+    private final long asciiHigh;
+
+    /** 補助文字の許容範囲(開始コードポイントと終了コードポイントを交互に格納する) */
+    private final int[] supplementaryRanges;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param bmp 基本多言語面のビットマップ
+     * @param supplementaryRanges 補助文字の許容範囲
+     */
+    private CompiledCharsetDef(long[] bmp, int[] supplementaryRanges) {
+        this.bmp = bmp;
+        this.supplementaryRanges = supplementaryRanges;
+        asciiLow = bmp[0];
+        asciiHigh = bmp[1];
+    }
+
+    /**
+     * {@link SystemRepository}から許容文字集合定義を取得し、展開したものを返す。
+     *
+     * @param charsetDefName 許容文字集合定義の名称
+     * @return 展開した許容文字集合定義
+     * @throws IllegalArgumentException 許容文字集合定義が{@link SystemRepository}に登録されていない場合
+     */
+    static CompiledCharsetDef lookUp(String charsetDefName) throws IllegalArgumentException {
+        final CharsetDef charsetDef = SystemRepository.get(charsetDefName);
+        if (charsetDef == null) {
+            throw new IllegalArgumentException(
+                    "specified CharsetDef is not registered in SystemRepository. name=[" + charsetDefName + "]");
+        }
+        return compile(charsetDef);
+    }
+
+    /**
+     * 許容文字集合定義を展開する。
+     * <p/>
+     * 同一の許容文字集合定義に対しては、展開済みのものを返す。
+     *
+     * @param charsetDef 許容文字集合定義
+     * @return 展開した許容文字集合定義
+     */
+    static CompiledCharsetDef compile(CharsetDef charsetDef) {
+        CompiledCharsetDef compiled = CACHE.get(charsetDef);
+        if (compiled == null) {
+            compiled = new CompiledCharsetDef(toBitmap(charsetDef), toSupplementaryRanges(charsetDef));
+            CACHE.put(charsetDef, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * 基本多言語面のビットマップを作成する。
+     *
+     * @param charsetDef 許容文字集合定義
+     * @return ビットマップ
+     */
+    private static long[] toBitmap(CharsetDef charsetDef) {
+        final long[] bitmap = new long[(Character.MAX_VALUE + 1) >>> 6];
+        for (int codePoint = Character.MIN_VALUE; codePoint <= Character.MAX_VALUE; codePoint++) {
+            if (charsetDef.contains(codePoint)) {
+                bitmap[codePoint >>> 6] |= 1L << codePoint;
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * 補助文字の許容範囲を作成する。
+     *
+     * @param charsetDef 許容文字集合定義
+     * @return 許容範囲
+     */
+    private static int[] toSupplementaryRanges(CharsetDef charsetDef) {
+        int[] ranges = new int[16];
+        int size = 0;
+        int start = -1;
+        for (int codePoint = Character.MIN_SUPPLEMENTARY_CODE_POINT; codePoint <= Character.MAX_CODE_POINT + 1; codePoint++) {
+            final boolean contains = codePoint <= Character.MAX_CODE_POINT && charsetDef.contains(codePoint);
+            if (contains && start < 0) {
+                start = codePoint;
+            } else if (!contains && start >= 0) {
+                if (size + 2 > ranges.length) {
+                    ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                }
+                ranges[size++] = start;
+                ranges[size++] = codePoint - 1;
+                start = -1;
+            }
+        }
+        return Arrays.copyOf(ranges, size);
+    }
+
+    /**
+     * 許容されたコードポイントかどうか。
+     *
+     * @param codePoint コードポイント
+     * @return 許容される場合は{@code true}
+     */
+    boolean contains(int codePoint) {
+        if (codePoint <= Character.MAX_VALUE) {
+            return (bmp[codePoint >>> 6] & (1L << codePoint)) != 0;
+        }
+        // 範囲の開始位置は偶数、終了位置は奇数のインデックスに格納されているため、
+        // 挿入位置が奇数であれば範囲内となる。
+        final int index = Arrays.binarySearch(supplementaryRanges, codePoint);
+        return index >= 0 || ((-index - 1) & 1) == 1;
+    }
+
+    /**
+     * 文字列が許容文字のみで構成されているかどうか。
+     * <p/>
+     * 判定内容は{@link nablarch.core.validation.validator.unicode.CharsetDefValidationUtil}と同じである。
+     *
+     * @param value 判定対象の文字列
+     * @param allowLineSeparator 改行コード(CR、LF)を許容する場合は{@code true}
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    boolean isValid(CharSequence value, boolean allowLineSeparator, boolean allowSurrogatePair) {
+        return isValid(value, value.length(), allowLineSeparator, allowSurrogatePair);
+    }
+
+    /**
+     * {@link Reader}から読み込んだ文字列が許容文字のみで構成されているかどうか。
+     * <p/>
+     * 一定の文字数ずつ読み込んで判定するため、全体を文字列として保持することはない。
+     * 許容されない文字が現れた時点で判定を終了し、残りは読み込まない。
+     * 判定内容は{@link #isValid(CharSequence, boolean, boolean)}と同じである。
+     *
+     * @param reader 判定対象の文字列を読み込む{@link Reader}
+     * @param allowLineSeparator 改行コード(CR、LF)を許容する場合は{@code true}
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     * @throws IOException 読み込みに失敗した場合
+     */
+    boolean isValid(Reader reader, boolean allowLineSeparator, boolean allowSurrogatePair) throws IOException {
+        final char[] buffer = new char[READ_BUFFER_SIZE];
+        final CharBuffer chunk = CharBuffer.wrap(buffer);
+        int carried = 0;
+        while (true) {
+            final int read = reader.read(buffer, carried, buffer.length - carried);
+            if (read < 0) {
+                return isValid(chunk, carried, allowLineSeparator, allowSurrogatePair);
+            }
+            final int end = carried + read;
+            // 末尾が上位サロゲートの場合は、次の読み込み結果と組み合わせて判定するために持ち越す。
+            carried = end > 0 && Character.isHighSurrogate(buffer[end - 1]) ? 1 : 0;
+            if (!isValid(chunk, end - carried, allowLineSeparator, allowSurrogatePair)) {
+                return false;
+            }
+            if (carried == 1) {
+                buffer[0] = buffer[end - 1];
+            }
+        }
+    }
+
+    /**
+     * エンコードされたバイト列が許容文字のみで構成されているかどうか。
+     * <p/>
+     * バイト列の{@link ByteBuffer#position() position}から{@link ByteBuffer#limit() limit}までを判定する。
+     * バイト列のpositionやlimitは変更しない。
+     * <p/>
+     * 文字コードがUTF-8、US-ASCII、ISO-8859-1の場合は、文字列に変換せずにバイト列のまま判定する。
+     * それ以外の文字コードの場合は、一定の文字数ずつ文字に変換しながら判定する。
+     * 文字コードとして不正なバイト列や、対応する文字が存在しないバイト列が含まれる場合は、許容されない文字として扱う。
+     * それ以外の判定内容は{@link #isValid(CharSequence, boolean, boolean)}と同じである。
+     *
+     * @param bytes 判定対象のバイト列
+     * @param charset バイト列の文字コード
+     * @param allowLineSeparator 改行コード(CR、LF)を許容する場合は{@code true}
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    boolean isValid(ByteBuffer bytes, Charset charset, boolean allowLineSeparator, boolean allowSurrogatePair) {
+        final long lowMask = allowLineSeparator ? asciiLow | LINE_SEPARATOR_MASK : asciiLow & ~LINE_SEPARATOR_MASK;
+        if (UTF_8.equals(charset)) {
+            return isValidUtf8(bytes, lowMask, asciiHigh, allowSurrogatePair);
+        }
+        if (US_ASCII.equals(charset) || ISO_8859_1.equals(charset)) {
+            return isValidSingleByte(bytes, ISO_8859_1.equals(charset), lowMask, asciiHigh);
+        }
+        return isValidDecoding(bytes, charset, allowLineSeparator, allowSurrogatePair);
+    }
+
+    /**
+     * UTF-8でエンコードされたバイト列が許容文字のみで構成されているかどうか。
+     * <p/>
+     * 冗長なエンコードやサロゲート領域のエンコードなど、UTF-8として不正なバイト列は許容しない。
+     *
+     * @param bytes 判定対象のバイト列
+     * @param lowMask U+0000～U+003Fのマスク
+     * @param highMask U+0040～U+007Fのマスク
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    private boolean isValidUtf8(ByteBuffer bytes, long lowMask, long highMask, boolean allowSurrogatePair) {
+        final int end = bytes.limit();
+        int i = bytes.position();
+        while (i < end) {
+            final int b0 = bytes.get(i) & 0xFF;
+            if (b0 < 0x80) {
+                if (!isAllowedAscii(b0, lowMask, highMask)) {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            final int codePoint;
+            if (b0 < 0xC2) {
+                // 後続バイト、または2バイトの冗長なエンコード
+                return false;
+            } else if (b0 < 0xE0) {
+                if (i + 1 >= end || !isContinuation(bytes.get(i + 1))) {
+                    return false;
+                }
+                codePoint = ((b0 & 0x1F) << 6) | (bytes.get(i + 1) & 0x3F);
+                i += 2;
+            } else if (b0 < 0xF0) {
+                if (i + 2 >= end || !isContinuation(bytes.get(i + 1)) || !isContinuation(bytes.get(i + 2))) {
+                    return false;
+                }
+                codePoint = ((b0 & 0x0F) << 12) | ((bytes.get(i + 1) & 0x3F) << 6) | (bytes.get(i + 2) & 0x3F);
+                if (codePoint < 0x800
+                        || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                    return false;
+                }
+                i += 3;
+            } else if (b0 < 0xF5) {
+                if (i + 3 >= end || !isContinuation(bytes.get(i + 1))
+                        || !isContinuation(bytes.get(i + 2)) || !isContinuation(bytes.get(i + 3))) {
+                    return false;
+                }
+                codePoint = ((b0 & 0x07) << 18) | ((bytes.get(i + 1) & 0x3F) << 12)
+                        | ((bytes.get(i + 2) & 0x3F) << 6) | (bytes.get(i + 3) & 0x3F);
+                if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT || codePoint > Character.MAX_CODE_POINT) {
+                    return false;
+                }
+                // 文字列に変換するとサロゲートペアとなる
+                if (!allowSurrogatePair) {
+                    return false;
+                }
+                i += 4;
+            } else {
+                return false;
+            }
+            if (!contains(codePoint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * UTF-8の後続バイトかどうか。
+     *
+     * @param b バイト
+     * @return 後続バイトの場合は{@code true}
+     */
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * US-ASCII、またはISO-8859-1でエンコードされたバイト列が許容文字のみで構成されているかどうか。
+     *
+     * @param bytes 判定対象のバイト列
+     * @param latin1 ISO-8859-1の場合は{@code true}、US-ASCIIの場合は{@code false}
+     * @param lowMask U+0000～U+003Fのマスク
+     * @param highMask U+0040～U+007Fのマスク
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    private boolean isValidSingleByte(ByteBuffer bytes, boolean latin1, long lowMask, long highMask) {
+        final int end = bytes.limit();
+        for (int i = bytes.position(); i < end; i++) {
+            final int b = bytes.get(i) & 0xFF;
+            if (b < 0x80) {
+                if (!isAllowedAscii(b, lowMask, highMask)) {
+                    return false;
+                }
+            } else if (!latin1 || !contains(b)) {
+                // US-ASCIIでは0x80以上のバイトは不正
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 許容されたASCII文字かどうか。
+     *
+     * @param c ASCII文字
+     * @param lowMask U+0000～U+003Fのマスク
+     * @param highMask U+0040～U+007Fのマスク
+     * @return 許容される場合は{@code true}
+     */
+    private static boolean isAllowedAscii(int c, long lowMask, long highMask) {
+        return (((c < 0x40 ? lowMask : highMask) >>> c) & 1L) != 0;
+    }
+
+    /**
+     * バイト列を一定の文字数ずつ文字に変換しながら、許容文字のみで構成されているかどうかを判定する。
+     * <p/>
+     * 変換先のバッファは、バイト列を変換した文字数と{@link #READ_BUFFER_SIZE}の小さい方の大きさで確保する。
+     *
+     * @param bytes 判定対象のバイト列
+     * @param charset バイト列の文字コード
+     * @param allowLineSeparator 改行コード(CR、LF)を許容する場合は{@code true}
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    private boolean isValidDecoding(ByteBuffer bytes, Charset charset, boolean allowLineSeparator, boolean allowSurrogatePair) {
+        final CharsetDecoder decoder = acquireDecoder(charset);
+        try {
+            return isValidDecoding(bytes, decoder, allowLineSeparator, allowSurrogatePair);
+        } finally {
+            releaseDecoder(charset, decoder);
+        }
+    }
+
+    /**
+     * バイト列を{@link CharsetDecoder}で文字に変換しながら、許容文字のみで構成されているかどうかを判定する。
+     *
+     * @param bytes 判定対象のバイト列
+     * @param decoder リセット済みの{@link CharsetDecoder}
+     * @param allowLineSeparator 改行コード(CR、LF)を許容する場合は{@code true}
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    private boolean isValidDecoding(ByteBuffer bytes, CharsetDecoder decoder,
+            boolean allowLineSeparator, boolean allowSurrogatePair) {
+        final ByteBuffer in = bytes.duplicate();
+        // サロゲートペアを持ち越せるよう、2文字以上確保する。
+        final long maxChars = (long) Math.ceil(in.remaining() * (double) decoder.maxCharsPerByte());
+        final CharBuffer chunk = CharBuffer.allocate((int) Math.max(2L, Math.min(READ_BUFFER_SIZE, maxChars)));
+        boolean decoded = false;
+        while (true) {
+            CoderResult result;
+            if (decoded) {
+                result = decoder.flush(chunk);
+            } else {
+                result = decoder.decode(in, chunk, true);
+                if (result.isUnderflow()) {
+                    decoded = true;
+                    result = decoder.flush(chunk);
+                }
+            }
+            if (result.isError()) {
+                return false;
+            }
+            final boolean finished = result.isUnderflow();
+            chunk.flip();
+            final int length = chunk.remaining();
+            // 末尾が上位サロゲートの場合は、次の変換結果と組み合わせて判定するために持ち越す。
+            final int carried = !finished && length > 0 && Character.isHighSurrogate(chunk.get(length - 1)) ? 1 : 0;
+            if (!isValid(chunk, length - carried, allowLineSeparator, allowSurrogatePair)) {
+                return false;
+            }
+            if (finished) {
+                return true;
+            }
+            chunk.position(length - carried);
+            chunk.compact();
+        }
+    }
+
+    /**
+     * 文字コードに対応する{@link CharsetDecoder}を取得する。
+     * <p/>
+     * 再利用可能な{@link CharsetDecoder}がない場合は、生成する。
+     *
+     * @param charset 文字コード
+     * @return 不正なバイト列や対応する文字が存在しないバイト列をエラーとする{@link CharsetDecoder}
+     */
+    private static CharsetDecoder acquireDecoder(Charset charset) {
+        final BlockingQueue<CharsetDecoder> pool = DECODERS.get(charset);
+        final CharsetDecoder decoder = pool == null ? null : pool.poll();
+        if (decoder != null) {
+            return decoder;
+        }
+        return charset.newDecoder()
+                      .onMalformedInput(CodingErrorAction.REPORT)
+                      .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    /**
+     * 使用済みの{@link CharsetDecoder}をリセットして、再利用できるようにする。
+     * <p/>
+     * 文字コードごとに保持する数の上限を超える場合は、破棄する。
+     *
+     * @param charset 文字コード
+     * @param decoder 使用済みの{@link CharsetDecoder}
+     */
+    private static void releaseDecoder(Charset charset, CharsetDecoder decoder) {
+        decoder.reset();
+        BlockingQueue<CharsetDecoder> pool = DECODERS.get(charset);
+        if (pool == null) {
+            final BlockingQueue<CharsetDecoder> created = new ArrayBlockingQueue<CharsetDecoder>(MAX_POOLED_DECODERS);
+            pool = DECODERS.putIfAbsent(charset, created);
+            if (pool == null) {
+                pool = created;
+            }
+        }
+        pool.offer(decoder);
+    }
+
+    /**
+     * 文字列の先頭から指定された位置までが、許容文字のみで構成されているかどうか。
+     *
+     * @param value 判定対象の文字列
+     * @param length 判定する文字数
+     * @param allowLineSeparator 改行コード(CR、LF)を許容する場合は{@code true}
+     * @param allowSurrogatePair サロゲートペアを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     */
+    private boolean isValid(CharSequence value, int length, boolean allowLineSeparator, boolean allowSurrogatePair) {
+        final long lowMask = allowLineSeparator ? asciiLow | LINE_SEPARATOR_MASK : asciiLow & ~LINE_SEPARATOR_MASK;
+        final long highMask = asciiHigh;
+        final int last = length - 1;
+        int i = 0;
+        while (i < length) {
+            i = skipAscii(value, i, length, lowMask, highMask);
+            if (i == length) {
+                return true;
+            }
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                // 許容されないASCII文字
+                return false;
+            }
+            final int codePoint;
+            if (i != last && Character.isHighSurrogate(c)) {
+                if (!allowSurrogatePair) {
+                    return false;
+                }
+                final char next = value.charAt(i + 1);
+                if (Character.isLowSurrogate(next)) {
+                    codePoint = Character.toCodePoint(c, next);
+                    i++;
+                } else {
+                    // 単独の上位サロゲートの場合、次の文字は改めて判定する。
+                    codePoint = c;
+                }
+            } else {
+                codePoint = c;
+            }
+            if (!contains(codePoint)) {
+                return false;
+            }
+            i++;
+        }
+        return true;
+    }
+
+    /**
+     * 許容されたASCII文字が連続する間、位置を進める。
+     * <p/>
+     * 4文字単位で、全てがASCII文字かどうかと、全てが許容されているかどうかをまとめて判定する。
+     * ASCII文字以外の文字か、許容されないASCII文字が現れた場合は、その位置を返す。
+     *
+     * @param value 判定対象の文字列
+     * @param from 開始位置
+     * @param to 終了位置(この位置は含まない)
+     * @param lowMask U+0000～U+003Fのマスク
+     * @param highMask U+0040～U+007Fのマスク
+     * @return ASCII文字以外の文字か、許容されないASCII文字の位置。全て許容された場合は{@code to}
+     */
+    private static int skipAscii(CharSequence value, int from, int to, long lowMask, long highMask) {
+        int i = from;
+        while (i + ASCII_BLOCK_SIZE <= to) {
+            final char c0 = value.charAt(i);
+            final char c1 = value.charAt(i + 1);
+            final char c2 = value.charAt(i + 2);
+            final char c3 = value.charAt(i + 3);
+            if ((c0 | c1 | c2 | c3) >= 0x80) {
+                break;
+            }
+            // シフト量は下位6ビットのみが使用されるため、文字の値をそのままシフト量として使用できる。
+            final long allowed = ((c0 < 0x40 ? lowMask : highMask) >>> c0)
+                    & ((c1 < 0x40 ? lowMask : highMask) >>> c1)
+                    & ((c2 < 0x40 ? lowMask : highMask) >>> c2)
+                    & ((c3 < 0x40 ? lowMask : highMask) >>> c3);
+            if ((allowed & 1L) == 0) {
+                break;
+            }
+            i += ASCII_BLOCK_SIZE;
+        }
+        while (i < to) {
+            final char c = value.charAt(i);
+            if (c >= 0x80 || !isAllowedAscii(c, lowMask, highMask)) {
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+}
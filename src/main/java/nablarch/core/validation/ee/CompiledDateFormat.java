@@ -0,0 +1,399 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.util.DateUtil;
+
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Formatter;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 日付書式を解析し、日付文字列が書式に一致するかを判定するクラス。
+ * <p/>
+ * 判定内容は{@link DateUtil#getParsedDate(String, String)}が{@code null}以外を返すかどうかと同じである。
+ * すなわち、書式化用のデフォルトロケールの{@link SimpleDateFormat}で厳密に(lenientを{@code false}にして)解析でき、
+ * かつ解析した日時を同じ書式でフォーマットした結果が元の日付文字列と一致する場合に、書式に一致すると判定する。
+ * <p/>
+ * 書式が数値の固定長の項目({@code yyyy}、{@code MM}、{@code dd}、{@code HH}、{@code mm}、{@code ss}、{@code SSS})と
+ * 英字以外の区切り文字のみで構成される場合(例:{@code yyyyMMdd}、{@code yyyy/MM/dd}、{@code yyyyMMddHHmmss})は、
+ * {@link SimpleDateFormat}を使用せずに判定する。
+ * ただし、以下のように{@link SimpleDateFormat}と同じ結果になることを確認できない場合は、{@link SimpleDateFormat}で判定する。
+ * <ul>
+ *     <li>書式化用のデフォルトロケールのカレンダーがグレゴリオ暦でない、または数字が0～9でない場合</li>
+ *     <li>日付文字列の長さや区切り文字が書式と一致しない場合(5桁以上の年の可能性がある)</li>
+ *     <li>年が1583年より前、または9999年より後の場合(ユリウス暦との切り替えの影響を受ける)</li>
+ *     <li>夏時間への切り替えなどにより、デフォルトタイムゾーンに存在しない日時の場合</li>
+ * </ul>
+ * {@link SimpleDateFormat}で判定する場合は、判定ごとに生成する。
+ * <p/>
+ * このクラスのインスタンスはスレッドセーフである。
+ * {@link #getInstance(String)}で取得したインスタンスは、同じ日付書式を使用する全てのバリデータで共有される。
+ *
+ * @see DateFormat.DateFormatValidator
+ */
+final class CompiledDateFormat {
+
+    /** 年 */
+    private static final int YEAR = 0;
+
+    /** 月 */
+    private static final int MONTH = 1;
+
+    /** 日 */
+    private static final int DAY = 2;
+
+    /** 時 */
+    private static final int HOUR = 3;
+
+    /** 分 */
+    private static final int MINUTE = 4;
+
+    /** 秒 */
+    private static final int SECOND = 5;
+
+    /** ミリ秒 */
+    private static final int MILLISECOND = 6;
+
+    /** 項目の書式文字 */
+    private static final String FIELD_LETTERS = "yMdHmsS";
+
+    /** 項目の桁数 */
+    private static final int[] FIELD_WIDTHS = {4, 2, 2, 2, 2, 2, 3};
+
+    /** 項目の最大値 */
+    private static final int[] FIELD_MAX_VALUES = {9999, 12, 31, 23, 59, 59, 999};
+
+    /** {@link SimpleDateFormat}を使用せずに判定する最小の年 */
+    private static final int MIN_YEAR = 1583;
+
+    /** 0000年1月1日から1970年1月1日までの日数 */
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+    /** 1日のミリ秒 */
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    /** 月ごとの日数(平年) */
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /** 日付書式ごとのインスタンス */
+    private static final ConcurrentMap<String, CompiledDateFormat> REGISTRY = new ConcurrentHashMap<String, CompiledDateFormat>();
+
+    /** 直前に判定したロケールの対応状況 */
+    private static volatile LocaleSupport localeSupport = new LocaleSupport(null, false);
+
+    /** 日付書式 */
+    private final String pattern;
+
+    /**
+     * 日付文字列の各位置に対応する項目({@link #YEAR}～{@link #MILLISECOND})。区切り文字の位置は{@code -1}。
+     * 書式が固定長の数値項目と区切り文字のみで構成されていない場合は{@code null}。
+     */
+    private final int[] fields;
+
+    /** 日付文字列の各位置の区切り文字 */
+    private final char[] literals;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param pattern 日付書式
+     */
+    private CompiledDateFormat(String pattern) {
+        this.pattern = pattern;
+        literals = pattern.toCharArray();
+        fields = toFields(pattern);
+    }
+
+    /**
+     * 解析済みの日付書式を取得する。
+     * <p/>
+     * 日付書式の検証と解析は、日付書式ごとに一度だけ行う。
+     * 不正な日付書式は登録しないため、取得するたびに例外を送出する。
+     *
+     * @param pattern 日付書式
+     * @return 解析した日付書式
+     * @throws IllegalArgumentException 日付書式が不正な場合
+     */
+    static CompiledDateFormat getInstance(String pattern) throws IllegalArgumentException {
+        CompiledDateFormat compiled = REGISTRY.get(pattern);
+        if (compiled == null) {
+            validate(pattern);
+            compiled = compile(pattern);
+            final CompiledDateFormat registered = REGISTRY.putIfAbsent(pattern, compiled);
+            if (registered != null) {
+                compiled = registered;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * 日付書式が有効であるか検証する。
+     *
+     * @param pattern 日付書式
+     * @throws IllegalArgumentException 日付書式が不正な場合
+     */
+    private static void validate(String pattern) throws IllegalArgumentException {
+        try {
+            DateUtil.formatDate(new Date(), pattern);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid date format. [" + pattern + "]", e);
+        }
+    }
+
+    /**
+     * 日付書式を解析する。
+     * <p/>
+     * 日付書式の検証は行わず、解析したインスタンスも登録しない。
+     *
+     * @param pattern 日付書式
+     * @return 解析した日付書式
+     */
+    static CompiledDateFormat compile(String pattern) {
+        return new CompiledDateFormat(pattern);
+    }
+
+    /**
+     * 日付書式を、日付文字列の各位置に対応する項目に変換する。
+     *
+     * @param pattern 日付書式
+     * @return 各位置に対応する項目。固定長の数値項目と区切り文字のみで構成されていない場合は{@code null}
+     */
+    private static int[] toFields(String pattern) {
+        final List<Integer> fields = new ArrayList<Integer>();
+        final boolean[] used = new boolean[FIELD_LETTERS.length()];
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                return null;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                final int field = FIELD_LETTERS.indexOf(c);
+                int end = i;
+                while (end < pattern.length() && pattern.charAt(end) == c) {
+                    end++;
+                }
+                if (field < 0 || used[field] || end - i != FIELD_WIDTHS[field]) {
+                    return null;
+                }
+                used[field] = true;
+                for (; i < end; i++) {
+                    fields.add(field);
+                }
+            } else {
+                fields.add(-1);
+                i++;
+            }
+        }
+        final int[] result = new int[fields.size()];
+        for (int j = 0; j < result.length; j++) {
+            result[j] = fields.get(j);
+        }
+        return result;
+    }
+
+    /**
+     * 日付文字列が書式に一致するかどうか。
+     *
+     * @param date 日付文字列
+     * @return 書式に一致する場合は{@code true}
+     */
+    boolean isValid(String date) {
+        if (fields != null && isSupportedLocale(getFormatLocale())) {
+            final Boolean result = isValidFixedWidth(date);
+            if (result != null) {
+                return result;
+            }
+        }
+        return parse(date) != null;
+    }
+
+    /**
+     * {@link SimpleDateFormat}を使用せずに、日付文字列が書式に一致するかどうかを判定する。
+     *
+     * @param date 日付文字列
+     * @return 書式に一致する場合は{@code true}、一致しない場合は{@code false}。
+     *         {@link SimpleDateFormat}と同じ結果になることを確認できない場合は{@code null}
+     */
+    private Boolean isValidFixedWidth(String date) {
+        if (date.length() != fields.length) {
+            return null;
+        }
+        // 項目が存在しない場合の値は、SimpleDateFormatが解析時に使用するデフォルト値(1970年1月1日0時0分0秒)とする。
+        final int[] values = {1970, 1, 1, 0, 0, 0, 0};
+        final boolean[] present = new boolean[values.length];
+        for (int i = 0; i < fields.length; i++) {
+            final char c = date.charAt(i);
+            final int field = fields[i];
+            if (field < 0) {
+                if (c != literals[i]) {
+                    return null;
+                }
+            } else {
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                values[field] = present[field] ? values[field] * 10 + (c - '0') : c - '0';
+                present[field] = true;
+            }
+        }
+        final int year = values[YEAR];
+        if (year < MIN_YEAR) {
+            return null;
+        }
+        if (values[MONTH] < 1 || values[DAY] < 1 || values[DAY] > daysInMonth(year, values[MONTH])) {
+            return false;
+        }
+        for (int field = HOUR; field <= MILLISECOND; field++) {
+            if (values[field] > FIELD_MAX_VALUES[field]) {
+                return false;
+            }
+        }
+        final long localMillis = toEpochDay(year, values[MONTH], values[DAY]) * MILLIS_PER_DAY
+                + values[HOUR] * 3600000L + values[MINUTE] * 60000L + values[SECOND] * 1000L + values[MILLISECOND];
+        return existsInDefaultTimeZone(localMillis) ? Boolean.TRUE : null;
+    }
+
+    /**
+     * 月の日数を取得する。
+     *
+     * @param year 年
+     * @param month 月
+     * @return 日数。月が範囲外の場合は0
+     */
+    private static int daysInMonth(int year, int month) {
+        if (month > 12) {
+            return 0;
+        }
+        return month == 2 && isLeapYear(year) ? 29 : DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * うるう年かどうか。
+     *
+     * @param year 年
+     * @return うるう年の場合は{@code true}
+     */
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * グレゴリオ暦の日付を、1970年1月1日からの日数に変換する。
+     *
+     * @param year 年(0以上)
+     * @param month 月
+     * @param day 日
+     * @return 1970年1月1日からの日数
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * ローカル日時がデフォルトタイムゾーンに存在するかどうか。
+     * <p/>
+     * 夏時間への切り替えなどにより存在しないローカル日時は、
+     * lenientを{@code false}にした{@link SimpleDateFormat}では解析できない。
+     *
+     * @param localMillis ローカル日時(1970年1月1日0時0分0秒からのミリ秒)
+     * @return 存在する場合は{@code true}。存在することを確認できなかった場合は{@code false}
+     */
+    private static boolean existsInDefaultTimeZone(long localMillis) {
+        final TimeZone timeZone = TimeZone.getDefault();
+        final long first = localMillis - timeZone.getOffset(localMillis);
+        if (first + timeZone.getOffset(first) == localMillis) {
+            return true;
+        }
+        final long second = localMillis - timeZone.getOffset(first);
+        return second + timeZone.getOffset(second) == localMillis;
+    }
+
+    /**
+     * 書式化用のデフォルトロケールを取得する。
+     * <p/>
+     * {@link DateUtil#getParsedDate(String, String)}はロケールを指定せずに{@link SimpleDateFormat}を生成するため、
+     * 同じくロケールを指定せずに生成した{@link Formatter}のロケールを使用する。
+     * Java 7以降では{@code Locale.getDefault(Locale.Category.FORMAT)}、それより前では{@link Locale#getDefault()}となる。
+     *
+     * @return 書式化用のデフォルトロケール
+     */
+    private static Locale getFormatLocale() {
+        return new Formatter().locale();
+    }
+
+    /**
+     * {@link SimpleDateFormat}を使用せずに判定できるロケールかどうか。
+     * <p/>
+     * カレンダーがグレゴリオ暦(仏暦などのサブクラスは除く)で、数字が0～9のロケールの場合のみ判定できる。
+     *
+     * @param locale ロケール
+     * @return 判定できる場合は{@code true}
+     */
+    private static boolean isSupportedLocale(Locale locale) {
+        LocaleSupport support = localeSupport;
+        if (!locale.equals(support.locale)) {
+            support = new LocaleSupport(locale, Calendar.getInstance(locale).getClass() == GregorianCalendar.class
+                    && DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0');
+            localeSupport = support;
+        }
+        return support.supported;
+    }
+
+    /**
+     * {@link SimpleDateFormat}で日付文字列を解析する。
+     * <p/>
+     * {@link DateUtil#getParsedDate(String, String)}と同じく、書式化用のデフォルトロケールの{@link SimpleDateFormat}を生成して解析する。
+     *
+     * @param date 日付文字列
+     * @return 解析した日時。書式に一致しない場合は{@code null}
+     */
+    private Date parse(String date) {
+        final SimpleDateFormat format = new SimpleDateFormat(pattern, getFormatLocale());
+        format.setLenient(false);
+        final Date parsed = format.parse(date, new ParsePosition(0));
+        if (parsed == null || !format.format(parsed).equals(date)) {
+            return null;
+        }
+        return parsed;
+    }
+
+    /**
+     * ロケールの対応状況を保持するクラス。
+     */
+    private static final class LocaleSupport {
+
+        /** ロケール */
+        private final Locale locale;
+
+        /** {@link SimpleDateFormat}を使用せずに判定できるかどうか */
+        private final boolean supported;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param locale ロケール
+         * @param supported {@link SimpleDateFormat}を使用せずに判定できるかどうか
+         */
+        private LocaleSupport(Locale locale, boolean supported) {
+            this.locale = locale;
+            this.supported = supported;
+        }
+    }
+}
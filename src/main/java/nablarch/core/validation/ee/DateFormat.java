@@ -1,7 +1,6 @@
 package nablarch.core.validation.ee;
 
 import nablarch.core.repository.SystemRepository;
-import nablarch.core.util.DateUtil;
 import nablarch.core.util.StringUtil;
 import nablarch.core.util.annotation.Published;
 
@@ -12,7 +11,6 @@ import javax.validation.Payload;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
-import java.util.Date;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.CONSTRUCTOR;
@@ -113,12 +111,15 @@ public @interface DateFormat {
         /** 日付書式 */
         private String formatString;
 
+        /** 解析済みの日付書式 */
+        private CompiledDateFormat dateFormat;
+
         @Override
         public void initialize(DateFormat constraintAnnotation) {
             String value = constraintAnnotation.value();
             formatString = StringUtil.isNullOrEmpty(value) ? getDefaultFormat() : value;
 
-            validateFormat(formatString);
+            dateFormat = getDateFormat(formatString);
         }
 
         @Override
@@ -126,21 +127,23 @@ public @interface DateFormat {
             if (StringUtil.isNullOrEmpty(date)) {
                 return true;
             }
-            return DateUtil.getParsedDate(date, formatString) != null;
+            return dateFormat.isValid(date);
 
         }
 
         /**
-         * 指定された日付書式が有効であるか検証します。
+         * 解析済みの日付書式を取得する。
+         * <p/>
+         * 日付書式の検証と解析は日付書式ごとに一度だけ行い、同じ日付書式を使用するバリデータで共有する。
          *
          * @param formatString 日付書式
+         * @return 解析済みの日付書式
          * @throws IllegalStateException 日付書式が不正である場合
          */
-        private void validateFormat(String formatString) throws IllegalStateException {
+        private CompiledDateFormat getDateFormat(String formatString) throws IllegalStateException {
             try {
-                DateUtil.formatDate(new Date(), formatString);
-
-            } catch (Exception e) {
+                return CompiledDateFormat.getInstance(formatString);
+            } catch (IllegalArgumentException e) {
                 throw new IllegalStateException("Invalid date format. [" + formatString + "]");
             }
         }
@@ -83,6 +83,13 @@ public @interface Digits {
         /** 整数、小数ともに指定時のメッセージ */
         private static final String MESSAGE = "{nablarch.core.validation.ee.Digits.message}";
 
+        /** 10の累乗(10^0～10^18) */
+        private static final long[] POWERS_OF_TEN = {
+                1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+                10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+                1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+        };
+
         /** 整数部の桁数 */
         private int integer;
 
@@ -101,11 +108,61 @@ public @interface Digits {
 
         @Override
         protected boolean isValid(BigDecimal value) {
-            final int integerLength = value.precision() - value.scale();
-            final int fractionLength = value.scale() < 0 ? 0 : value.scale();
+            return isValid(value.precision(), value.scale());
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * {@link BigDecimal}に変換せずに、桁数を数えて判定する。
+         */
+        @Override
+        protected boolean isValid(final long value) {
+            return isValid(countDigits(value), 0);
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * 数値文字列の解析時に数えた精度とスケールで判定する。
+         */
+        @Override
+        boolean isValid(ParsedNumber number) {
+            return isValid(number.precision(), number.scale());
+        }
+
+        /**
+         * 精度とスケールから、整数部と小数部の桁数を判定する。
+         *
+         * @param precision 精度(先頭の0を除いた仮数部の桁数)
+         * @param scale スケール
+         * @return 整数部と小数部の桁数が範囲内の場合は{@code true}
+         */
+        private boolean isValid(int precision, int scale) {
+            final int integerLength = precision - scale;
+            final int fractionLength = scale < 0 ? 0 : scale;
             return integer >= integerLength && fraction >= fractionLength;
         }
 
+        /**
+         * 整数の桁数を数える。
+         * <p/>
+         * 2進数での桁数から10進数での桁数を概算し、10の累乗と比較して補正する。
+         * {@link BigDecimal#precision()}と同じく、0の桁数は1とする。
+         *
+         * @param value 整数
+         * @return 桁数
+         */
+        private static int countDigits(long value) {
+            if (value == Long.MIN_VALUE) {
+                return POWERS_OF_TEN.length;
+            }
+            final long abs = Math.abs(value);
+            // log10(2) ≒ 1233 / 4096
+            final int approx = ((Long.SIZE - Long.numberOfLeadingZeros(abs | 1)) * 1233) >>> 12;
+            return Math.max(approx + (abs < POWERS_OF_TEN[approx] ? 0 : 1), 1);
+        }
+
         @Override
         protected void buildMessage(final ConstraintValidatorContext context) {
             if (StringUtil.isNullOrEmpty(message)) {
@@ -49,6 +49,8 @@ import static java.lang.annotation.ElementType.METHOD;
  *   <pre>
  *     {@code <component name="domainManager" class="com.example.SampleDomainManager"/>}
  *   </pre>
+ *   ドメイン定義Beanを複数に分割する場合は、{@link NamespacedDomainManager}を使用する。
+ *   この場合、ドメイン名は「名前空間.プロパティ名」の形式で指定する(例:{@code @Domain("billing.amount")})。
  *
  *   <p>
  *     <b>ドメイン指定</b>
@@ -0,0 +1,224 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.log.Logger;
+import nablarch.core.log.LoggerManager;
+import nablarch.core.repository.initialization.Initializable;
+import nablarch.core.util.annotation.Published;
+
+import javax.validation.Validator;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ドメイン定義Beanのメタデータを起動時に生成し、{@link Domain}の指定を検証するクラス。
+ * <p/>
+ * 初期化時に以下の処理を行う。
+ * <ul>
+ *     <li>
+ *         生成対象のドメイン定義BeanのBean Validationのメタデータを生成する。
+ *         Bean Validationの実装がメタデータをキャッシュするため、{@link DomainValidator}の初回のバリデーションで生成する必要がない。
+ *         デフォルトでは、デフォルトのドメイン定義Bean({@link NamespacedDomainManager}以外の場合は{@link DomainManager}のドメイン定義Bean)のみを対象とする。
+ *         {@link NamespacedDomainManager}の名前空間のドメイン定義Beanは、初めて使用された時点でメタデータを生成するため、
+ *         起動時に生成する場合は{@link #setWarmUpNamespaces(List)}で名前空間を指定する。
+ *     </li>
+ *     <li>
+ *         {@link #setPackageNames(List)}で指定したパッケージ配下のクラスから{@link Domain}が設定されたプロパティを探し、
+ *         ドメイン定義Beanに存在しないドメイン名が指定されていないかを検証する。
+ *         あわせて、{@link Domain}を使用するクラスのBean Validationのメタデータを生成する。
+ *     </li>
+ * </ul>
+ * 存在しないドメイン名が指定されている場合は、デフォルトでは全ての指定箇所をメッセージに含めた例外を送出する。
+ * {@link #setFailOnUnknownDomain(boolean)}に{@code false}を設定した場合は、警告ログを出力して処理を継続する。
+ * <p/>
+ * 使用する場合は、このクラスを"domainCatalog"という名前でコンポーネント定義し、初期化対象のコンポーネントに追加する。
+ * <pre>
+ * {@code <component name="domainCatalog" class="nablarch.core.validation.ee.DomainCatalog">
+ *   <property name="packageNames">
+ *     <list>
+ *       <value>com.example.form</value>
+ *     </list>
+ *   </property>
+ *   <property name="warmUpNamespaces">
+ *     <list>
+ *       <value>billing</value>
+ *     </list>
+ *   </property>
+ * </component>
+ *
+ * <component name="initializer" class="nablarch.core.repository.initialization.BasicApplicationInitializer">
+ *   <property name="initializeList">
+ *     <list>
+ *       <component-ref name="domainCatalog"/>
+ *     </list>
+ *   </property>
+ * </component>}
+ * </pre>
+ *
+ * @see DomainValidator
+ */
+@Published(tag = "architect")
+public class DomainCatalog implements Initializable {
+
+    /** ロガー */
+    private static final Logger LOGGER = LoggerManager.get(DomainCatalog.class);
+
+    /** {@link Domain}を探すパッケージ */
+    private List<String> packageNames = Collections.emptyList();
+
+    /** 存在しないドメイン名が指定されている場合に例外を送出するかどうか */
+    private boolean failOnUnknownDomain = true;
+
+    /** デフォルトのドメイン定義Beanのメタデータを生成するかどうか */
+    private boolean warmUpDefaultDomainBean = true;
+
+    /** メタデータを生成する名前空間 */
+    private List<String> warmUpNamespaces = Collections.emptyList();
+
+    /** メタデータを生成したドメイン定義Bean */
+    private volatile Set<Class<?>> warmedDomainBeans = Collections.emptySet();
+
+    /**
+     * {@link Domain}を探すパッケージを設定する。
+     * <p/>
+     * サブパッケージ配下のクラスも対象となる。
+     * 設定しない場合は、{@link Domain}の指定を検証しない。
+     *
+     * @param packageNames パッケージ名
+     */
+    public void setPackageNames(List<String> packageNames) {
+        this.packageNames = packageNames;
+    }
+
+    /**
+     * 存在しないドメイン名が指定されている場合に例外を送出するかどうかを設定する。
+     * <p/>
+     * デフォルトは{@code true}。
+     * {@code false}を設定した場合は、警告ログを出力する。
+     *
+     * @param failOnUnknownDomain 例外を送出する場合は{@code true}
+     */
+    public void setFailOnUnknownDomain(boolean failOnUnknownDomain) {
+        this.failOnUnknownDomain = failOnUnknownDomain;
+    }
+
+    /**
+     * デフォルトのドメイン定義Beanのメタデータを、初期化時に生成するかどうかを設定する。
+     * <p/>
+     * デフォルトは{@code true}。
+     * {@link NamespacedDomainManager}以外の場合は、{@link DomainManager}のドメイン定義Beanが対象となる。
+     *
+     * @param warmUpDefaultDomainBean 生成する場合は{@code true}
+     */
+    public void setWarmUpDefaultDomainBean(boolean warmUpDefaultDomainBean) {
+        this.warmUpDefaultDomainBean = warmUpDefaultDomainBean;
+    }
+
+    /**
+     * ドメイン定義Beanのメタデータを初期化時に生成する名前空間を設定する。
+     * <p/>
+     * {@link NamespacedDomainManager}を使用する場合のみ有効。
+     * 設定しない場合は、名前空間のドメイン定義Beanのメタデータは初めて使用された時点で生成される。
+     *
+     * @param warmUpNamespaces 名前空間
+     */
+    public void setWarmUpNamespaces(List<String> warmUpNamespaces) {
+        this.warmUpNamespaces = warmUpNamespaces;
+    }
+
+    /**
+     * 生成対象のドメイン定義Beanのメタデータを生成し、{@link Domain}の指定を検証する。
+     *
+     * @throws IllegalStateException 存在しないドメイン名が指定されていて、例外を送出する設定の場合、
+     *                               または生成対象の名前空間が存在しない場合
+     */
+    @Override
+    public void initialize() throws IllegalStateException {
+        final Validator validator = ValidatorUtil.getValidator();
+        final Map<String, DomainDefinition> index = DomainSupport.getDomainIndex();
+
+        final Set<Class<?>> domainBeans = new LinkedHashSet<Class<?>>();
+        final Set<Class<?>> warmUpTargets = new LinkedHashSet<Class<?>>();
+        final Set<String> unknownNamespaces = new LinkedHashSet<String>(warmUpNamespaces);
+        for (Map.Entry<String, DomainDefinition> entry : index.entrySet()) {
+            final Class<?> domainBean = entry.getValue().getDomainBean();
+            domainBeans.add(domainBean);
+            final String namespace = getNamespace(entry.getKey());
+            if (namespace == null ? warmUpDefaultDomainBean : warmUpNamespaces.contains(namespace)) {
+                warmUpTargets.add(domainBean);
+                unknownNamespaces.remove(namespace);
+            }
+        }
+        if (!unknownNamespaces.isEmpty()) {
+            throw new IllegalStateException("namespace was not found in domain manager. namespaces=" + unknownNamespaces);
+        }
+        for (Class<?> domainBean : warmUpTargets) {
+            validator.getConstraintsForClass(domainBean);
+        }
+        warmedDomainBeans = Collections.unmodifiableSet(warmUpTargets);
+
+        final List<String> unknownDomains = new ArrayList<String>();
+        for (Class<?> clazz : DomainSupport.findClasses(packageNames)) {
+            if (domainBeans.contains(clazz) || clazz.isAnnotation()) {
+                continue;
+            }
+            final List<AccessibleObject> members = new ArrayList<AccessibleObject>();
+            members.addAll(Arrays.asList(clazz.getDeclaredFields()));
+            members.addAll(Arrays.asList(clazz.getDeclaredMethods()));
+            boolean hasDomain = false;
+            for (AccessibleObject member : members) {
+                for (Domain domain : DomainSupport.getDomains(member)) {
+                    hasDomain = true;
+                    if (!index.containsKey(domain.value())) {
+                        unknownDomains.add(clazz.getName() + '#' + ((Member) member).getName()
+                                + " (domain=[" + domain.value() + "])");
+                    }
+                }
+            }
+            if (hasDomain) {
+                validator.getConstraintsForClass(clazz);
+            }
+        }
+        if (unknownDomains.isEmpty()) {
+            return;
+        }
+        final List<String> domainBeanNames = new ArrayList<String>();
+        for (Class<?> domainBean : domainBeans) {
+            domainBeanNames.add(domainBean.getName());
+        }
+        final String message = "domain was not found in domain bean. domain beans=" + domainBeanNames
+                + ", properties=" + unknownDomains;
+        if (failOnUnknownDomain) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.logWarn(message);
+    }
+
+    /**
+     * ドメイン名から名前空間を取得する。
+     * <p/>
+     * {@link NamespacedDomainManager}と同じく、ドメイン名の最後の"."より前を名前空間とする。
+     *
+     * @param domainName ドメイン名
+     * @return 名前空間。名前空間を含まない場合は{@code null}
+     */
+    private static String getNamespace(String domainName) {
+        final int index = domainName.lastIndexOf('.');
+        return index < 0 ? null : domainName.substring(0, index);
+    }
+
+    /**
+     * メタデータを生成したドメイン定義Beanを取得する。
+     *
+     * @return メタデータを生成したドメイン定義Bean
+     */
+    Set<Class<?>> getWarmedDomainBeans() {
+        return warmedDomainBeans;
+    }
+}
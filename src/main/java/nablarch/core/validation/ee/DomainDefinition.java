@@ -0,0 +1,44 @@
+package nablarch.core.validation.ee;
+
+/**
+ * ドメイン名に対応する、ドメイン定義Beanとそのプロパティ。
+ *
+ * @see NamespacedDomainManager
+ */
+final class DomainDefinition {
+
+    /** ドメイン定義Bean */
+    private final Class<?> domainBean;
+
+    /** ドメイン定義Beanのプロパティ名 */
+    private final String propertyName;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param domainBean ドメイン定義Bean
+     * @param propertyName ドメイン定義Beanのプロパティ名
+     */
+    DomainDefinition(Class<?> domainBean, String propertyName) {
+        this.domainBean = domainBean;
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * ドメイン定義Beanを取得する。
+     *
+     * @return ドメイン定義Bean
+     */
+    Class<?> getDomainBean() {
+        return domainBean;
+    }
+
+    /**
+     * ドメイン定義Beanのプロパティ名を取得する。
+     *
+     * @return プロパティ名
+     */
+    String getPropertyName() {
+        return propertyName;
+    }
+}
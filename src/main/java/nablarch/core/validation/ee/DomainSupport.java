@@ -0,0 +1,163 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.util.ClassTraversal;
+import nablarch.core.util.ResourcesUtil;
+
+import java.beans.Introspector;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Domain}を使用するBeanやドメイン定義Beanを、起動時に解析するためのユーティリティクラス。
+ *
+ * @see FlattenedDomainValidatorFactoryBuilder
+ * @see DomainCatalog
+ */
+final class DomainSupport {
+
+    /** コンストラクタ */
+    private DomainSupport() {
+    }
+
+    /**
+     * {@link SystemRepository}に登録された{@link DomainManager}から、ドメイン名とドメイン定義Beanのプロパティの対応を取得する。
+     * <p/>
+     * {@link NamespacedDomainManager}の場合は、全ての名前空間のドメインを対象とする。
+     * それ以外の場合は、ドメイン定義Beanのプロパティ名をドメイン名とする。
+     *
+     * @return ドメイン名をキー、ドメイン定義Beanのプロパティを値とする{@link Map}
+     * @throws IllegalStateException {@link DomainManager}が登録されていない場合
+     */
+    static Map<String, DomainDefinition> getDomainIndex() throws IllegalStateException {
+        final DomainManager<?> manager = SystemRepository.get(DomainValidator.DOMAIN_MANAGER_KEY);
+        if (manager == null) {
+            throw new IllegalStateException(
+                    "DomainManager must be registered in SystemRepository. key=[" + DomainValidator.DOMAIN_MANAGER_KEY + "]");
+        }
+        if (manager instanceof NamespacedDomainManager) {
+            return ((NamespacedDomainManager) manager).getIndex();
+        }
+        final Class<?> domainBean = manager.getDomainBean();
+        final Map<String, DomainDefinition> index = new LinkedHashMap<String, DomainDefinition>();
+        for (String domainName : getDomainNames(domainBean)) {
+            index.put(domainName, new DomainDefinition(domainBean, domainName));
+        }
+        return index;
+    }
+
+    /**
+     * ドメイン定義Beanに定義されたドメイン名(プロパティ名)を取得する。
+     * <p/>
+     * スーパークラスで定義されたプロパティも対象とする。
+     *
+     * @param domainBean ドメイン定義Bean
+     * @return ドメイン名
+     */
+    static Set<String> getDomainNames(Class<?> domainBean) {
+        final Set<String> names = new LinkedHashSet<String>();
+        for (Class<?> clazz = domainBean; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    names.add(field.getName());
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                final String propertyName = getPropertyName(method);
+                if (propertyName != null) {
+                    names.add(propertyName);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 指定されたパッケージ配下のクラスを取得する。
+     * <p/>
+     * サブパッケージ配下のクラスも対象とする。
+     *
+     * @param packageNames パッケージ名
+     * @return クラス
+     * @throws IllegalStateException クラスのロードに失敗した場合
+     */
+    static List<Class<?>> findClasses(List<String> packageNames) throws IllegalStateException {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (String basePackage : packageNames) {
+            for (ResourcesUtil.Resources resources : ResourcesUtil.getResourcesTypes(basePackage)) {
+                try {
+                    resources.forEach(new ClassTraversal.ClassHandler() {
+                        @Override
+                        public void process(String packageName, String shortClassName) {
+                            final String className = packageName + '.' + shortClassName;
+                            try {
+                                classes.add(Class.forName(className, false, classLoader));
+                            } catch (ClassNotFoundException e) {
+                                throw new IllegalStateException("failed to load class. class=[" + className + ']', e);
+                            }
+                        }
+                    });
+                } finally {
+                    resources.close();
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * getterの場合は、プロパティ名を取得する。
+     *
+     * @param method メソッド
+     * @return プロパティ名。getterでない場合は{@code null}
+     */
+    static String getPropertyName(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic() || method.isBridge()
+                || method.getParameterTypes().length != 0) {
+            return null;
+        }
+        final String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+        return null;
+    }
+
+    /**
+     * フィールドまたはメソッドに設定された{@link Domain}を取得する。
+     * <p/>
+     * {@link Domain.List}でまとめられた{@link Domain}も対象とする。
+     *
+     * @param element フィールドまたはメソッド
+     * @return {@link Domain}。設定されていない場合は空のリスト
+     */
+    static List<Domain> getDomains(AnnotatedElement element) {
+        final Domain domain = element.getAnnotation(Domain.class);
+        final Domain.List list = element.getAnnotation(Domain.List.class);
+        if (domain == null && list == null) {
+            return Collections.emptyList();
+        }
+        final List<Domain> domains = new ArrayList<Domain>();
+        if (domain != null) {
+            domains.add(domain);
+        }
+        if (list != null) {
+            domains.addAll(Arrays.asList(list.value()));
+        }
+        return domains;
+    }
+}
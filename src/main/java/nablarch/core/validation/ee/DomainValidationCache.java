@@ -0,0 +1,370 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.util.annotation.Published;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ドメインバリデーションの結果をキャッシュするクラス。
+ * <p/>
+ * コード値やフラグなど、同じ値が繰り返し入力されるドメインのバリデーション結果を、ドメイン名と値と言語の組み合わせごとにキャッシュする。
+ * キャッシュ対象のドメインは{@link #setDomainNames(List)}で明示的に指定する。
+ * 指定しない場合は、どのドメインもキャッシュしない。
+ * 自由入力のドメインをキャッシュ対象にすると、入力値がそのままキャッシュに保持され、
+ * また一意な値によって本来キャッシュしたいエントリが削除されるため、キャッシュ対象にしないこと。
+ * キャッシュするのはバリデーションエラーのメッセージであり、メッセージは言語ごとに異なるため、
+ * {@link nablarch.core.ThreadContext}の言語(設定されていない場合はデフォルトロケール)ごとにキャッシュする。
+ * <p/>
+ * 値が変更されない以下の型の値のみキャッシュする。
+ * <ul>
+ *     <li>{@code null}</li>
+ *     <li>{@link String}</li>
+ *     <li>プリミティブ型のラッパー型</li>
+ *     <li>{@link BigDecimal}、{@link BigInteger}</li>
+ *     <li>列挙型</li>
+ * </ul>
+ * 文字列は、長さが{@link #setMaxValueLength(int)}で指定した上限以下の場合のみキャッシュする。
+ * <p/>
+ * キャッシュするエントリ数の上限を超えた場合は、最近参照されていないエントリから削除する。
+ * ドメインごとにキャッシュのヒット数とミス数を記録するため、キャッシュが有効なドメインを確認できる。
+ * <p/>
+ * 使用する場合は、このクラスを"domainValidationCache"という名前でコンポーネント定義する。
+ * <pre>
+ * {@code <component name="domainValidationCache" class="nablarch.core.validation.ee.DomainValidationCache">
+ *   <property name="maxEntries" value="10000"/>
+ *   <property name="maxValueLength" value="32"/>
+ *   <property name="domainNames">
+ *     <list>
+ *       <value>status</value>
+ *       <value>prefectureCode</value>
+ *     </list>
+ *   </property>
+ * </component>}
+ * </pre>
+ * ドメイン定義Beanのバリデーションの結果が入力値のみで決まらない場合(他の設定値に依存する場合など)は、
+ * そのドメインをキャッシュ対象としないこと。
+ * <p/>
+ * このクラスのインスタンスはスレッドセーフである。
+ *
+ * @see DomainValidator
+ */
+@Published(tag = "architect")
+public class DomainValidationCache {
+
+    /** キャッシュ対象とする値の型(文字列を除く) */
+    private static final Set<Class<?>> CACHEABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class));
+
+    /** デフォルトのエントリ数の上限 */
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /** デフォルトのキャッシュ対象とする文字列の長さの上限 */
+    private static final int DEFAULT_MAX_VALUE_LENGTH = 32;
+
+    /** エントリ数の上限 */
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    /** キャッシュ対象とする文字列の長さの上限 */
+    private int maxValueLength = DEFAULT_MAX_VALUE_LENGTH;
+
+    /** キャッシュ対象のドメイン名(空の場合はキャッシュしない) */
+    private Set<String> domainNames = Collections.emptySet();
+
+    /** キャッシュ */
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+
+    /** 削除候補のキー(追加順) */
+    private final ConcurrentLinkedQueue<Key> evictionQueue = new ConcurrentLinkedQueue<Key>();
+
+    /** エントリ数 */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** ドメインごとのヒット数とミス数 */
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+
+    /**
+     * エントリ数の上限を設定する。
+     * <p/>
+     * デフォルトは10000。
+     *
+     * @param maxEntries エントリ数の上限
+     * @throws IllegalArgumentException 1未満の値を指定した場合
+     */
+    public void setMaxEntries(int maxEntries) throws IllegalArgumentException {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0. maxEntries=[" + maxEntries + ']');
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * キャッシュ対象とする文字列の長さの上限を設定する。
+     * <p/>
+     * デフォルトは32。
+     * 長さが上限を超える文字列はキャッシュしない。
+     *
+     * @param maxValueLength キャッシュ対象とする文字列の長さの上限
+     * @throws IllegalArgumentException 0未満の値を指定した場合
+     */
+    public void setMaxValueLength(int maxValueLength) throws IllegalArgumentException {
+        if (maxValueLength < 0) {
+            throw new IllegalArgumentException(
+                    "maxValueLength must not be negative. maxValueLength=[" + maxValueLength + ']');
+        }
+        this.maxValueLength = maxValueLength;
+    }
+
+    /**
+     * キャッシュ対象のドメイン名を設定する。
+     * <p/>
+     * 設定しない場合は、どのドメインもキャッシュしない。
+     * コード値やフラグなど、入力される値の種類が限られるドメインのみを指定すること。
+     *
+     * @param domainNames キャッシュ対象のドメイン名
+     */
+    public void setDomainNames(List<String> domainNames) {
+        this.domainNames = new HashSet<String>(domainNames);
+    }
+
+    /**
+     * ドメインのキャッシュのヒット数を取得する。
+     *
+     * @param domainName ドメイン名
+     * @return ヒット数
+     */
+    public long getHitCount(String domainName) {
+        final Statistics stats = statistics.get(domainName);
+        return stats == null ? 0L : stats.hit.get();
+    }
+
+    /**
+     * ドメインのキャッシュのミス数を取得する。
+     *
+     * @param domainName ドメイン名
+     * @return ミス数
+     */
+    public long getMissCount(String domainName) {
+        final Statistics stats = statistics.get(domainName);
+        return stats == null ? 0L : stats.miss.get();
+    }
+
+    /**
+     * キャッシュを使用したドメイン名を取得する。
+     * <p/>
+     * ヒット数またはミス数が記録されているドメイン名を返す。
+     *
+     * @return ドメイン名
+     */
+    public Set<String> getUsedDomainNames() {
+        return Collections.unmodifiableSet(statistics.keySet());
+    }
+
+    /**
+     * キャッシュしているエントリ数を取得する。
+     *
+     * @return エントリ数
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * キャッシュとヒット数、ミス数をクリアする。
+     */
+    public void clear() {
+        for (Key key : entries.keySet()) {
+            if (entries.remove(key) != null) {
+                size.decrementAndGet();
+            }
+        }
+        evictionQueue.clear();
+        statistics.clear();
+    }
+
+    /**
+     * 値のバリデーション結果をキャッシュできるかどうか。
+     *
+     * @param domainName ドメイン名
+     * @param value 値
+     * @return キャッシュできる場合は{@code true}
+     */
+    boolean isCacheable(String domainName, Object value) {
+        if (!domainNames.contains(domainName)) {
+            return false;
+        }
+        if (value instanceof String) {
+            return ((String) value).length() <= maxValueLength;
+        }
+        return value == null || value instanceof Enum || CACHEABLE_TYPES.contains(value.getClass());
+    }
+
+    /**
+     * キャッシュからバリデーション結果を取得する。
+     * <p/>
+     * ヒット数またはミス数を記録する。
+     *
+     * @param domainName ドメイン名
+     * @param value 値
+     * @param language 言語
+     * @return バリデーションエラーのメッセージ。キャッシュされていない場合は{@code null}
+     */
+    List<String> get(String domainName, Object value, Locale language) {
+        final Entry entry = entries.get(new Key(domainName, value, language));
+        final Statistics stats = getStatistics(domainName);
+        if (entry == null) {
+            stats.miss.incrementAndGet();
+            return null;
+        }
+        stats.hit.incrementAndGet();
+        entry.referenced = true;
+        return entry.messages;
+    }
+
+    /**
+     * バリデーション結果をキャッシュする。
+     * <p/>
+     * エントリ数が上限を超えた場合は、古いエントリから順に、前回の削除判定以降に参照されていないものを削除する。
+     *
+     * @param domainName ドメイン名
+     * @param value 値
+     * @param language 言語
+     * @param messages バリデーションエラーのメッセージ
+     */
+    void put(String domainName, Object value, Locale language, List<String> messages) {
+        final Key key = new Key(domainName, value, language);
+        if (entries.putIfAbsent(key, new Entry(messages)) != null) {
+            return;
+        }
+        evictionQueue.offer(key);
+        if (size.incrementAndGet() <= maxEntries) {
+            return;
+        }
+        while (size.get() > maxEntries) {
+            final Key candidate = evictionQueue.poll();
+            if (candidate == null) {
+                return;
+            }
+            final Entry entry = entries.get(candidate);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                evictionQueue.offer(candidate);
+            } else if (entries.remove(candidate, entry)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * ドメインのヒット数とミス数を取得する。
+     *
+     * @param domainName ドメイン名
+     * @return ヒット数とミス数
+     */
+    private Statistics getStatistics(String domainName) {
+        Statistics stats = statistics.get(domainName);
+        if (stats == null) {
+            final Statistics created = new Statistics();
+            stats = statistics.putIfAbsent(domainName, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * キャッシュのキー(ドメイン名と値と言語の組み合わせ)。
+     */
+    private static final class Key {
+
+        /** ドメイン名 */
+        private final String domainName;
+
+        /** 値 */
+        private final Object value;
+
+        /** 言語 */
+        private final Locale language;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param domainName ドメイン名
+         * @param value 値
+         * @param language 言語
+         */
+        private Key(String domainName, Object value, Locale language) {
+            this.domainName = domainName;
+            this.value = value;
+            this.language = language;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return domainName.equals(other.domainName)
+                    && (value == null ? other.value == null : value.equals(other.value))
+                    && language.equals(other.language);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * domainName.hashCode() + (value == null ? 0 : value.hashCode())) + language.hashCode();
+        }
+    }
+
+    /**
+     * キャッシュのエントリ。
+     */
+    private static final class Entry {
+
+        /** バリデーションエラーのメッセージ */
+        private final List<String> messages;
+
+        /** 前回の削除判定以降に参照されたかどうか */
+        private volatile boolean referenced;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param messages バリデーションエラーのメッセージ
+         */
+        private Entry(List<String> messages) {
+            this.messages = messages;
+        }
+    }
+
+    /**
+     * ドメインごとのヒット数とミス数。
+     */
+    private static final class Statistics {
+
+        /** ヒット数 */
+        private final AtomicLong hit = new AtomicLong();
+
+        /** ミス数 */
+        private final AtomicLong miss = new AtomicLong();
+    }
+}
@@ -1,11 +1,16 @@
 package nablarch.core.validation.ee;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 
+import nablarch.core.ThreadContext;
 import nablarch.core.repository.SystemRepository;
 
 /**
@@ -14,6 +19,13 @@ import nablarch.core.repository.SystemRepository;
  *   {@link Domain}アノテーションが設定されたプロパティに対してバリデーションを行う。
  *   設定方法などの使い方は{@link Domain}のjavadocを参照。
  * </p>
+ * <p>
+ *   {@link DomainManager}が{@link NamespacedDomainManager}の場合は、ドメイン名に対応するドメイン定義Beanのプロパティでバリデーションを行う。
+ * </p>
+ * <p>
+ *   {@link SystemRepository}に{@link DomainValidationCache}が登録されている場合は、
+ *   キャッシュ対象に指定されたドメインについて、バリデーションの結果をキャッシュする。
+ * </p>
  * @author kawasima
  * @author T.Kawasaki
  */
@@ -25,15 +37,29 @@ public class DomainValidator implements ConstraintValidator<Domain, Object> {
     /** {@link Validator}インスタンス */
     private Validator validator;
 
-    /** ドメイン名(ドメイン定義Beanのプロパティ名) */
+    /** ドメイン名 */
     private String domainName;
 
+    /** ドメイン定義Beanのプロパティ名 */
+    private String propertyName;
+
     /** {@inheritDoc} */
     @Override
     public void initialize(Domain constraintAnnotation) {
         validator = ValidatorUtil.getValidator();
-        domainBean = getDomainBeanClass();
         domainName = constraintAnnotation.value();
+        final DomainManager<Object> manager = getDomainManager();
+        if (manager instanceof NamespacedDomainManager) {
+            final DomainDefinition definition = ((NamespacedDomainManager) manager).getDefinition(domainName);
+            if (definition == null) {
+                throw new IllegalArgumentException("domain was not found. domain=[" + domainName + ']');
+            }
+            domainBean = cast(definition.getDomainBean());
+            propertyName = definition.getPropertyName();
+        } else {
+            domainBean = manager.getDomainBean();
+            propertyName = domainName;
+        }
     }
 
     /** {@inheritDoc} */
@@ -43,25 +69,74 @@ public class DomainValidator implements ConstraintValidator<Domain, Object> {
         // デフォルトの制約をオフにする。
         context.disableDefaultConstraintViolation();
 
-        // ドメイン定義Beanのプロパティに付与されたバリデーション用のアノテーションで、入力値をバリデーションする。
-        Set<ConstraintViolation<Object>> violations
-                = validator.validateValue(domainBean,  // ドメイン定義Bean
-                                          domainName,  // ドメイン名（ドメイン定義Beanのプロパティ名）
-                                          value        // バリデーション対象となる値
-        );
+        final List<String> messages = validate(value);
 
         // 全バリデーション結果をConstraintValidatorContextに通知する。
-        for (ConstraintViolation<Object> cv : violations) {
-            context.buildConstraintViolationWithTemplate(cv.getMessage())
+        for (String message : messages) {
+            context.buildConstraintViolationWithTemplate(message)
                    .addConstraintViolation();
         }
 
-        return violations.isEmpty();
+        return messages.isEmpty();
+    }
+
+    /**
+     * ドメイン定義Beanのプロパティに設定されたバリデーションを行う。
+     * <p/>
+     * {@link DomainValidationCache}が登録されていて値がキャッシュ対象の場合は、キャッシュしたバリデーション結果を使用する。
+     * メッセージは言語ごとに異なるため、{@link ThreadContext}の言語ごとにキャッシュする。
+     *
+     * @param value バリデーション対象の値
+     * @return バリデーションエラーのメッセージ。エラーがない場合は空のリスト
+     */
+    private List<String> validate(Object value) {
+        final DomainValidationCache cache = SystemRepository.get(DOMAIN_VALIDATION_CACHE_KEY);
+        if (cache == null || !cache.isCacheable(domainName, value)) {
+            return validateValue(value);
+        }
+        final Locale language = ThreadContext.getLanguage() != null ? ThreadContext.getLanguage() : Locale.getDefault();
+        List<String> messages = cache.get(domainName, value, language);
+        if (messages == null) {
+            messages = validateValue(value);
+            cache.put(domainName, value, language, messages);
+        }
+        return messages;
+    }
+
+    /**
+     * ドメイン定義Beanのプロパティに付与されたバリデーション用のアノテーションで、入力値をバリデーションする。
+     *
+     * @param value バリデーション対象の値
+     * @return バリデーションエラーのメッセージ。エラーがない場合は空のリスト
+     */
+    private List<String> validateValue(Object value) {
+        final Set<ConstraintViolation<Object>> violations;
+        // ドメイン定義Beanのプロパティに設定された数値関連のバリデーションで、数値文字列の解析結果を共有する。
+        ParsedNumber.openScope();
+        try {
+            violations = validator.validateValue(domainBean,    // ドメイン定義Bean
+                                                 propertyName,  // ドメイン定義Beanのプロパティ名
+                                                 value          // バリデーション対象となる値
+            );
+        } finally {
+            ParsedNumber.closeScope();
+        }
+        if (violations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> messages = new ArrayList<String>(violations.size());
+        for (ConstraintViolation<Object> cv : violations) {
+            messages.add(cv.getMessage());
+        }
+        return Collections.unmodifiableList(messages);
     }
 
     /** {@link SystemRepository}から{@link DomainManager}インスタンスを取得する際のキー名 */
     static final String DOMAIN_MANAGER_KEY = "domainManager";
 
+    /** {@link SystemRepository}から{@link DomainValidationCache}インスタンスを取得する際のキー名 */
+    static final String DOMAIN_VALIDATION_CACHE_KEY = "domainValidationCache";
+
     /**
      * {@link DomainManager}インスタンスを取得する。
      *
@@ -78,12 +153,13 @@ public class DomainValidator implements ConstraintValidator<Domain, Object> {
     }
 
     /**
-     * ドメイン定義Beanの{@link Class}を取得する。
+     * ドメイン定義Beanの{@link Class}を、{@link Validator}に指定する型に変換する。
      *
-     * @param <T> ドメイン定義Beanの型
+     * @param domainBean ドメイン定義Bean
      * @return ドメイン定義BeanのClass
      */
-    <T> Class<T> getDomainBeanClass() {
-        return this.<T>getDomainManager().getDomainBean();
+    @SuppressWarnings("unchecked")
+    private static Class<Object> cast(Class<?> domainBean) {
+        return (Class<Object>) domainBean;
     }
 }
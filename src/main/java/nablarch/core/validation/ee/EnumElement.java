@@ -10,6 +10,15 @@ import javax.validation.Payload;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.CONSTRUCTOR;
@@ -35,6 +44,9 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  *         列挙型が{@link WithValue}を実装している場合、入力値と{@link WithValue#getValue()}が返却する値を比較する。
  *         入力値は{@code String}もしくは{@code Number}に制限される（それ以外の場合、実行時エラーが発生する）。
  *         この場合、{@link #caseSensitive()}を指定しても無視される。
+ *         {@link WithValue#getValue()}が{@code Number}を返す場合は、数値として比較する。
+ *         このため、入力値の型が{@code Integer}、{@code Long}、{@code BigDecimal}などのいずれであっても、
+ *         また数値を表す文字列（例:{@code "1"}、{@code "-1.50"}）であっても、値が等しければ一致と判定する。
  *     </li>
  * </ol>
  * <p>
@@ -125,9 +137,20 @@ public @interface EnumElement {
 
     /**
      * 許容値を列挙型でバリデーションする{@link ConstraintValidator}クラス。
+     * <p/>
+     * 列挙型定数と入力値を比較するバリデータは、列挙型と大文字小文字を区別するか否かの組み合わせごとに作成し、
+     * 同じ列挙型を指定した全ての{@link EnumElementValidator}で共有する。
      */
     class EnumElementValidator implements ConstraintValidator<EnumElement, Object> {
 
+        /**
+         * 列挙型ごとのバリデータのキャッシュ。
+         * <p/>
+         * 値は、大文字小文字を区別しないバリデータと区別するバリデータの2要素の配列。
+         * 列挙型のクラスローダがアンロードされる妨げにならないよう、キーは弱参照で保持する。
+         */
+        private static final Map<Class<?>, Validator[]> VALIDATOR_CACHE = new WeakHashMap<Class<?>, Validator[]>();
+
         /** {@link EnumElement} の設定に応じたバリデータ */
         private Validator validator;
 
@@ -136,13 +159,37 @@ public @interface EnumElement {
          */
         @Override
         public void initialize(EnumElement constraintAnnotation) {
+            validator = getValidator(constraintAnnotation.value(), constraintAnnotation.caseSensitive());
+        }
 
-            Class<? extends Enum<?>> enumClass = constraintAnnotation.value();
-
-            if (WithValue.class.isAssignableFrom(enumClass)) {
-                validator = new WithValueValidator((WithValue<?>[]) enumClass.getEnumConstants());
-            } else {
-                validator = new ConstantValidator(enumClass.getEnumConstants(), constraintAnnotation.caseSensitive());
+        /**
+         * 列挙型定数と入力値を比較するバリデータを取得する。
+         * <p/>
+         * 作成済みのバリデータが存在する場合は、それを返す。
+         *
+         * @param enumClass 許容する値を含む列挙型
+         * @param caseSensitive 大文字小文字を区別するか否か（{@code true}: 区別しない）
+         * @return バリデータ
+         */
+        private static Validator getValidator(Class<? extends Enum<?>> enumClass, boolean caseSensitive) {
+            final int index = caseSensitive ? 1 : 0;
+            synchronized (VALIDATOR_CACHE) {
+                Validator[] validators = VALIDATOR_CACHE.get(enumClass);
+                if (validators == null) {
+                    validators = new Validator[2];
+                    VALIDATOR_CACHE.put(enumClass, validators);
+                }
+                if (validators[index] == null) {
+                    if (WithValue.class.isAssignableFrom(enumClass)) {
+                        // フィールド値と比較する場合は大文字小文字の区別は無視されるため、両方で共有する。
+                        final Validator withValueValidator = createWithValueValidator((WithValue<?>[]) enumClass.getEnumConstants());
+                        validators[0] = withValueValidator;
+                        validators[1] = withValueValidator;
+                    } else {
+                        validators[index] = new ConstantValidator(enumClass.getEnumConstants(), caseSensitive);
+                    }
+                }
+                return validators[index];
             }
         }
 
@@ -173,60 +220,257 @@ public @interface EnumElement {
             boolean isValid(Object value);
         }
 
+        /**
+         * 列挙型要素のフィールドと入力値を比較するバリデータを作成する。
+         * <p/>
+         * 全ての列挙型要素のフィールドの型を確認し、全てが{@code Number}の場合のみ数値として比較する。
+         * {@code Number}と{@code String}が混在する場合は、{@link Object#equals(Object)}で比較する。
+         *
+         * @param enums 列挙型要素
+         * @return フィールドが全て{@code Number}の場合は{@link NumberValueValidator}、それ以外の場合は{@link WithValueValidator}
+         * @throws IllegalArgumentException フィールドが{@code String}、{@code Number}のいずれでもない列挙型要素が存在する場合
+         */
+        private static Validator createWithValueValidator(WithValue<?>[] enums) throws IllegalArgumentException {
+            boolean allNumber = true;
+            for (WithValue<?> e : enums) {
+                final Object value = e.getValue();
+                if (!(value instanceof String || value instanceof Number)) {
+                    throw new IllegalArgumentException("The return type of EnumElement.WithValue#getValue() must be String or Number.");
+                }
+                allNumber &= value instanceof Number;
+            }
+            // 要素0個のenumは利用方法を考慮すると実装誤りだが、いずれの入力値も許容しないバリデータとなる。
+            if (allNumber && enums.length > 0) {
+                return new NumberValueValidator(enums);
+            }
+            return new WithValueValidator(enums);
+        }
+
         /**
          * 列挙型要素のフィールドと入力値を比較する場合のバリデータ実装。
+         * <p/>
+         * 列挙型要素のフィールド値を{@link Set}に保持し、列挙型要素の数によらず一定の時間で検証する。
          */
         private static class WithValueValidator implements Validator {
 
-            /** 列挙型要素 */
-            private final WithValue<?>[] enums;
-
-            public WithValueValidator(WithValue<?>[] enums) {
+            /** 列挙型要素のフィールド値 */
+            private final Set<Object> values;
 
-                // enumの要素数が0のときはNullPointerExceptionが発生するが、利用方法を考慮すると要素0個のenumは実装誤りなので問題ない。
-                Object value = enums[0].getValue();
-                if (!(value instanceof String || value instanceof Number)) {
-                    throw new IllegalArgumentException("The return type of EnumElement.WithValue#getValue() must be String or Number.");
+            WithValueValidator(WithValue<?>[] enums) {
+                values = new HashSet<Object>(enums.length * 2);
+                for (WithValue<?> e : enums) {
+                    values.add(e.getValue());
                 }
-                this.enums = enums;
             }
 
             @Override
             public boolean isValid(Object value) {
+                return values.contains(value);
+            }
+        }
+
+        /**
+         * 列挙型要素の数値のフィールドと入力値を、数値として比較する場合のバリデータ実装。
+         * <p/>
+         * {@code long}で表せる整数値はソート済みの配列に保持し、二分探索で検証する。
+         * 入力値が{@code Integer}、{@code Long}、{@code Short}、{@code Byte}の場合は、オブジェクトを生成せずに検証する。
+         * 小数点を含まない18桁以下の数値文字列の場合は、{@link BigDecimal}を生成せずに検証する。
+         * それ以外の数値（小数や{@code long}で表せない整数）は、末尾の0を取り除いた{@link BigDecimal}で保持する。
+         */
+        private static class NumberValueValidator implements Validator {
+
+            /** オブジェクトを生成せずに{@code long}に変換できる数値文字列の最大桁数 */
+            private static final int MAX_LONG_DIGITS = 18;
+
+            /** {@code long}で表せる整数値（昇順） */
+            private final long[] integralValues;
+
+            /** {@code long}で表せない数値（末尾の0を取り除いたもの） */
+            private final Set<BigDecimal> decimalValues = new HashSet<BigDecimal>();
+
+            /** 数値に変換できない値 */
+            private final Set<Object> otherValues = new HashSet<Object>();
+
+            NumberValueValidator(WithValue<?>[] enums) {
+                long[] values = new long[enums.length];
+                int size = 0;
                 for (WithValue<?> e : enums) {
-                    if (e.getValue().equals(value)) {
-                        return true;
+                    final Object value = e.getValue();
+                    final BigDecimal decimal = value instanceof Number ? toBigDecimal((Number) value) : null;
+                    if (decimal == null) {
+                        otherValues.add(value);
+                    } else if (isLong(decimal)) {
+                        values[size++] = decimal.longValue();
+                    } else {
+                        decimalValues.add(decimal);
+                    }
+                }
+                values = Arrays.copyOf(values, size);
+                Arrays.sort(values);
+                integralValues = values;
+            }
+
+            @Override
+            public boolean isValid(Object value) {
+                if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                    return contains(((Number) value).longValue());
+                }
+                if (value instanceof String) {
+                    return isValid((String) value);
+                }
+                if (value instanceof Number) {
+                    final BigDecimal decimal = toBigDecimal((Number) value);
+                    if (decimal != null) {
+                        return contains(decimal);
+                    }
+                }
+                return otherValues.contains(value);
+            }
+
+            /**
+             * 数値文字列を検証する。
+             * <p/>
+             * {@link ParsedNumber}で解析できる文字列（例:{@code "1"}、{@code "-1.50"}、{@code ".5"}）を数値として扱う。
+             * それ以外の文字列は許容しない。
+             *
+             * @param value 入力値
+             * @return 許容する入力値であれば {@code true}
+             */
+            private boolean isValid(String value) {
+                final ParsedNumber parsed = ParsedNumber.parse(value);
+                if (parsed == null) {
+                    return false;
+                }
+                if (parsed.isLong()) {
+                    return contains(parsed.longValue());
+                }
+                return contains(stripTrailingZeros(parsed.toBigDecimal()));
+            }
+
+            /**
+             * 整数値が許容されるかどうか。
+             *
+             * @param value 整数値
+             * @return 許容される場合は{@code true}
+             */
+            private boolean contains(long value) {
+                return Arrays.binarySearch(integralValues, value) >= 0;
+            }
+
+            /**
+             * 数値が許容されるかどうか。
+             *
+             * @param value 数値（末尾の0を取り除いたもの）
+             * @return 許容される場合は{@code true}
+             */
+            private boolean contains(BigDecimal value) {
+                return isLong(value) ? contains(value.longValue()) : decimalValues.contains(value);
+            }
+
+            /**
+             * {@code long}で表せる整数値かどうか。
+             *
+             * @param value 数値（末尾の0を取り除いたもの）
+             * @return {@code long}で表せる整数値の場合は{@code true}
+             */
+            private static boolean isLong(BigDecimal value) {
+                return value.scale() <= 0
+                        && value.precision() - value.scale() <= MAX_LONG_DIGITS + 1
+                        && value.toBigInteger().bitLength() < Long.SIZE;
+            }
+
+            /**
+             * 数値を、末尾の0を取り除いた{@link BigDecimal}に変換する。
+             *
+             * @param value 数値
+             * @return 変換後の数値。変換できない場合は{@code null}
+             */
+            private static BigDecimal toBigDecimal(Number value) {
+                final BigDecimal decimal;
+                if (value instanceof BigDecimal) {
+                    decimal = (BigDecimal) value;
+                } else if (value instanceof BigInteger) {
+                    decimal = new BigDecimal((BigInteger) value);
+                } else if (value instanceof Double || value instanceof Float) {
+                    final double d = value.doubleValue();
+                    if (Double.isNaN(d) || Double.isInfinite(d)) {
+                        return null;
                     }
+                    decimal = new BigDecimal(value.toString());
+                } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                        || value instanceof Byte || value instanceof AtomicInteger || value instanceof AtomicLong) {
+                    decimal = BigDecimal.valueOf(value.longValue());
+                } else {
+                    return null;
                 }
-                return false;
+                return stripTrailingZeros(decimal);
+            }
+
+            /**
+             * 数値の末尾の0を取り除く。
+             *
+             * @param value 数値
+             * @return 末尾の0を取り除いた数値
+             */
+            private static BigDecimal stripTrailingZeros(BigDecimal value) {
+                // BigDecimal#stripTrailingZerosは0の場合にスケールを変更しないため、個別に扱う。
+                return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
             }
         }
 
         /**
          * 列挙型要素の名前と入力値を比較する場合のバリデータ実装。
+         * <p/>
+         * 列挙型要素の名前を{@link Set}に保持し、列挙型要素の数によらず一定の時間で検証する。
+         * 大文字小文字を区別しない場合は、{@link #normalize(String)}で正規化した名前を保持する。
          */
         private static class ConstantValidator implements Validator {
 
-            /** 列挙型要素 */
-            private final Enum<?>[] enums;
+            /** 列挙型要素の名前（大文字小文字を区別しない場合は正規化した名前） */
+            private final Set<String> names;
 
             /** 大文字小文字を区別するか否か（{@code true}: 区別しない） */
             private final boolean caseSensitive;
 
             ConstantValidator(Enum<?>[] enums, boolean caseSensitive) {
-                this.enums = enums;
                 this.caseSensitive = caseSensitive;
+                names = new HashSet<String>(enums.length * 2);
+                for (Enum<?> e : enums) {
+                    names.add(caseSensitive ? e.name() : normalize(e.name()));
+                }
             }
 
             @Override
             public boolean isValid(Object value) {
-                for (Enum<?> e : enums) {
+                if (caseSensitive) {
                     // Enum要素名と比較する場合は、検証対象フィールドの型はStringのみ許容する。
-                    if ((!caseSensitive && e.name().equalsIgnoreCase(value.toString())) || e.name().equals(value)) {
-                        return true;
+                    return value instanceof String && names.contains(value);
+                }
+                return names.contains(normalize(value.toString()));
+            }
+
+            /**
+             * 大文字小文字を区別せずに比較するために、文字列を正規化する。
+             * <p/>
+             * {@link String#equalsIgnoreCase(String)}と同じく、1文字ずつ大文字に変換した後に小文字に変換する。
+             * このため、正規化した文字列が一致することと、{@link String#equalsIgnoreCase(String)}が{@code true}を返すことは同じである。
+             *
+             * @param value 文字列
+             * @return 正規化した文字列
+             */
+            private static String normalize(String value) {
+                final int length = value.length();
+                for (int i = 0; i < length; i++) {
+                    final char c = value.charAt(i);
+                    if (Character.toLowerCase(Character.toUpperCase(c)) != c) {
+                        final char[] chars = value.toCharArray();
+                        for (int j = i; j < length; j++) {
+                            chars[j] = Character.toLowerCase(Character.toUpperCase(chars[j]));
+                        }
+                        return new String(chars);
                     }
                 }
-                return false;
+                return value;
             }
         }
     }
@@ -0,0 +1,415 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.util.annotation.Published;
+
+import javax.validation.Configuration;
+import javax.validation.Constraint;
+import javax.validation.Valid;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import javax.validation.groups.ConvertGroup;
+import javax.validation.groups.Default;
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Domain}アノテーションを、ドメイン定義Beanのプロパティに設定された制約に展開した{@link ValidatorFactory}を生成するクラス。
+ * <p/>
+ * {@link #setPackageNames(List)}で指定したパッケージ配下のクラスから{@link Domain}が設定されたプロパティを探し、
+ * {@link Domain}の代わりにドメイン定義Beanのプロパティに設定された制約を設定するBean Validationの制約定義(XML)を生成する。
+ * 生成した制約定義は{@link Configuration#addMapping(java.io.InputStream)}で{@link ValidatorFactory}に追加する。
+ * これにより、バリデーション時に{@link DomainValidator}を経由せず、制約を直接プロパティに設定した場合と同じようにバリデーションが行われる。
+ * <p/>
+ * 展開した制約のグループは{@link Domain}に指定したグループとなる。
+ * ドメイン定義Beanのプロパティに設定された制約のうち、デフォルトグループに属さないものは展開しない。
+ * 以下の場合は展開せずに{@link Domain}のままとする。
+ * <ul>
+ *     <li>ドメイン定義Beanに{@link javax.validation.GroupSequence}が設定されている場合</li>
+ *     <li>ドメイン定義Beanに指定されたドメインが存在しない場合</li>
+ *     <li>{@link ConvertGroup}が設定されたプロパティの場合</li>
+ *     <li>getter以外のメソッドに{@link Domain}が設定されている場合</li>
+ * </ul>
+ * 以下の点が{@link Domain}を使用した場合と異なる。
+ * <ul>
+ *     <li>
+ *         {@link javax.validation.ConstraintViolation#getConstraintDescriptor()}は展開した制約となるため、
+ *         {@link ConstraintViolationConverter}が生成するメッセージのIDは展開した制約のアノテーションのクラス名となる。
+ *     </li>
+ *     <li>制約の{@link javax.validation.ConstraintValidator}は、ドメイン定義Beanではなく展開先のプロパティの型に対応するものが使用される。</li>
+ * </ul>
+ * 展開する制約定義はBean単位で生成するため、対象のBeanの制約定義を別途XMLで定義している場合は使用できない。
+ * <p/>
+ * 使用する場合は、このクラスを"validatorFactoryBuilder"という名前でコンポーネント定義する。
+ * <pre>
+ * {@code <component name="validatorFactoryBuilder" class="nablarch.core.validation.ee.FlattenedDomainValidatorFactoryBuilder">
+ *   <property name="packageNames">
+ *     <list>
+ *       <value>com.example.form</value>
+ *     </list>
+ *   </property>
+ * </component>}
+ * </pre>
+ *
+ * @see Domain
+ * @see ValidatorUtil#getValidatorFactory()
+ */
+@Published(tag = "architect")
+public class FlattenedDomainValidatorFactoryBuilder extends ValidatorFactoryBuilder {
+
+    /** 制約定義(XML)の名前空間 */
+    private static final String MAPPING_NAMESPACE = "http://jboss.org/xml/ns/javax/validation/mapping";
+
+    /** 制約のアノテーションの属性のうち、属性値として出力しないもの */
+    private static final List<String> RESERVED_ATTRIBUTES = Arrays.asList("message", "groups", "payload");
+
+    /** {@link Domain}を探すパッケージ */
+    private List<String> packageNames = Collections.emptyList();
+
+    /**
+     * {@link Domain}を探すパッケージを設定する。
+     * <p/>
+     * サブパッケージ配下のクラスも対象となる。
+     *
+     * @param packageNames パッケージ名
+     */
+    public void setPackageNames(List<String> packageNames) {
+        this.packageNames = packageNames;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ValidatorFactory build() {
+        final Configuration<?> configuration = Validation.byDefaultProvider()
+                                                         .configure()
+                                                         .messageInterpolator(new MultiLanguageMessageInterpolator());
+        final String mapping = createMapping(DomainSupport.getDomainIndex(), DomainSupport.findClasses(packageNames));
+        if (mapping != null) {
+            try {
+                configuration.addMapping(new ByteArrayInputStream(mapping.getBytes("UTF-8")));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return configuration.buildValidatorFactory();
+    }
+
+    /**
+     * {@link Domain}を展開した制約定義(XML)を生成する。
+     *
+     * @param index ドメイン名とドメイン定義Beanのプロパティの対応
+     * @param classes 対象のクラス
+     * @return 制約定義。展開する{@link Domain}が存在しない場合は{@code null}
+     */
+    static String createMapping(Map<String, DomainDefinition> index, List<Class<?>> classes) {
+        final Set<Class<?>> domainBeans = new HashSet<Class<?>>();
+        for (DomainDefinition definition : index.values()) {
+            domainBeans.add(definition.getDomainBean());
+        }
+        final StringBuilder beans = new StringBuilder();
+        for (Class<?> clazz : classes) {
+            if (domainBeans.contains(clazz) || clazz.isAnnotation()) {
+                continue;
+            }
+            final StringBuilder members = new StringBuilder();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    appendMember(members, "field", field.getName(), field, index);
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                final String propertyName = DomainSupport.getPropertyName(method);
+                if (propertyName != null) {
+                    appendMember(members, "getter", propertyName, method, index);
+                }
+            }
+            if (members.length() > 0) {
+                beans.append("<bean class=\"").append(escape(clazz.getName())).append("\" ignore-annotations=\"false\">")
+                     .append(members)
+                     .append("</bean>");
+            }
+        }
+        if (beans.length() == 0) {
+            return null;
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<constraint-mappings xmlns=\"" + MAPPING_NAMESPACE + "\" version=\"1.1\">"
+                + beans
+                + "</constraint-mappings>";
+    }
+
+    /**
+     * {@link Domain}が設定されたプロパティの制約定義を追加する。
+     * <p/>
+     * プロパティのアノテーションを無視する設定とし、{@link Domain}以外の制約と{@link Valid}はそのまま出力する。
+     *
+     * @param xml 出力先
+     * @param type 要素の種類(fieldまたはgetter)
+     * @param name プロパティ名
+     * @param member フィールドまたはメソッド
+     * @param index ドメイン名とドメイン定義Beanのプロパティの対応
+     */
+    private static void appendMember(
+            StringBuilder xml, String type, String name, AccessibleObject member, Map<String, DomainDefinition> index) {
+        final List<Domain> domains = new ArrayList<Domain>();
+        final List<Annotation> constraints = new ArrayList<Annotation>();
+        for (Annotation annotation : member.getAnnotations()) {
+            if (annotation instanceof Domain) {
+                domains.add((Domain) annotation);
+            } else if (annotation instanceof Domain.List) {
+                domains.addAll(Arrays.asList(((Domain.List) annotation).value()));
+            } else if (annotation instanceof ConvertGroup || annotation instanceof ConvertGroup.List) {
+                return;
+            } else {
+                constraints.addAll(getConstraints(annotation));
+            }
+        }
+        if (domains.isEmpty()) {
+            return;
+        }
+        final StringBuilder domainConstraints = new StringBuilder();
+        for (Domain domain : domains) {
+            final List<Annotation> domainAnnotations = findDomainConstraints(index.get(domain.value()));
+            if (domainAnnotations == null) {
+                return;
+            }
+            for (Annotation annotation : domainAnnotations) {
+                appendConstraint(domainConstraints, annotation, domain.groups());
+            }
+        }
+        xml.append('<').append(type).append(" name=\"").append(escape(name)).append("\" ignore-annotations=\"true\">");
+        if (member.isAnnotationPresent(Valid.class)) {
+            xml.append("<valid/>");
+        }
+        for (Annotation annotation : constraints) {
+            appendConstraint(xml, annotation, (Class<?>[]) getAttribute(annotation, "groups"));
+        }
+        xml.append(domainConstraints)
+           .append("</").append(type).append('>');
+    }
+
+    /**
+     * ドメイン定義Beanのプロパティに設定された制約のうち、デフォルトグループに属するものを取得する。
+     *
+     * @param definition ドメイン定義Beanのプロパティ
+     * @return 制約。ドメインが存在しない場合や、ドメイン定義Beanに{@link javax.validation.GroupSequence}が設定されている場合は{@code null}
+     */
+    private static List<Annotation> findDomainConstraints(DomainDefinition definition) {
+        if (definition == null || definition.getDomainBean().isAnnotationPresent(javax.validation.GroupSequence.class)) {
+            return null;
+        }
+        final Class<?> domainBean = definition.getDomainBean();
+        final String domainName = definition.getPropertyName();
+        final List<Annotation> result = new ArrayList<Annotation>();
+        boolean found = false;
+        for (Class<?> clazz = domainBean; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            final List<AccessibleObject> members = new ArrayList<AccessibleObject>();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && field.getName().equals(domainName)) {
+                    members.add(field);
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (domainName.equals(DomainSupport.getPropertyName(method))) {
+                    members.add(method);
+                }
+            }
+            for (AccessibleObject member : members) {
+                found = true;
+                for (Annotation annotation : member.getAnnotations()) {
+                    for (Annotation constraint : getConstraints(annotation)) {
+                        final Class<?>[] groups = (Class<?>[]) getAttribute(constraint, "groups");
+                        if (groups.length == 0 || Arrays.asList(groups).contains(Default.class)) {
+                            result.add(constraint);
+                        }
+                    }
+                }
+            }
+        }
+        return found ? result : null;
+    }
+
+    /**
+     * アノテーションが制約の場合は制約を、複数の制約をまとめるアノテーション(List)の場合はまとめられた制約を取得する。
+     *
+     * @param annotation アノテーション
+     * @return 制約。制約でない場合は空のリスト
+     */
+    private static List<Annotation> getConstraints(Annotation annotation) {
+        final Class<? extends Annotation> annotationType = annotation.annotationType();
+        if (annotationType.isAnnotationPresent(Constraint.class)) {
+            return Collections.singletonList(annotation);
+        }
+        try {
+            final Method value = annotationType.getMethod("value");
+            final Class<?> returnType = value.getReturnType();
+            if (returnType.isArray() && returnType.getComponentType().isAnnotationPresent(Constraint.class)) {
+                return Arrays.asList((Annotation[]) getAttribute(annotation, "value"));
+            }
+        } catch (NoSuchMethodException ignored) {
+            // valueを持たないアノテーションは制約ではない
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 制約の定義を追加する。
+     *
+     * @param xml 出力先
+     * @param constraint 制約
+     * @param groups グループ
+     */
+    private static void appendConstraint(StringBuilder xml, Annotation constraint, Class<?>[] groups) {
+        final Class<? extends Annotation> annotationType = constraint.annotationType();
+        xml.append("<constraint annotation=\"").append(escape(annotationType.getName())).append("\">");
+        xml.append("<message>").append(escape((String) getAttribute(constraint, "message"))).append("</message>");
+        if (groups.length > 0) {
+            xml.append("<groups>");
+            appendValues(xml, groups);
+            xml.append("</groups>");
+        }
+        final Class<?>[] payload = (Class<?>[]) getAttribute(constraint, "payload");
+        if (payload.length > 0) {
+            xml.append("<payload>");
+            appendValues(xml, payload);
+            xml.append("</payload>");
+        }
+        appendElements(xml, constraint);
+        xml.append("</constraint>");
+    }
+
+    /**
+     * アノテーションの属性値のうち、デフォルト値と異なるものを追加する。
+     *
+     * @param xml 出力先
+     * @param annotation アノテーション
+     */
+    private static void appendElements(StringBuilder xml, Annotation annotation) {
+        for (Method attribute : annotation.annotationType().getDeclaredMethods()) {
+            final String name = attribute.getName();
+            if (RESERVED_ATTRIBUTES.contains(name)) {
+                continue;
+            }
+            final Object value = getAttribute(annotation, name);
+            final Object defaultValue = attribute.getDefaultValue();
+            if (defaultValue != null && Arrays.deepEquals(new Object[] {value}, new Object[] {defaultValue})) {
+                continue;
+            }
+            xml.append("<element name=\"").append(escape(name)).append("\">");
+            if (value.getClass().isArray()) {
+                appendValues(xml, value);
+            } else {
+                appendValue(xml, value);
+            }
+            xml.append("</element>");
+        }
+    }
+
+    /**
+     * 配列の属性値を追加する。
+     *
+     * @param xml 出力先
+     * @param values 配列
+     */
+    private static void appendValues(StringBuilder xml, Object values) {
+        for (int i = 0; i < Array.getLength(values); i++) {
+            final Object value = Array.get(values, i);
+            if (value instanceof Annotation) {
+                appendValue(xml, value);
+            } else {
+                xml.append("<value>");
+                appendValue(xml, value);
+                xml.append("</value>");
+            }
+        }
+    }
+
+    /**
+     * 属性値を追加する。
+     *
+     * @param xml 出力先
+     * @param value 属性値
+     */
+    private static void appendValue(StringBuilder xml, Object value) {
+        if (value instanceof Annotation) {
+            final Annotation annotation = (Annotation) value;
+            xml.append("<annotation>");
+            appendElements(xml, annotation);
+            xml.append("</annotation>");
+        } else if (value instanceof Class) {
+            xml.append(escape(((Class<?>) value).getName()));
+        } else if (value instanceof Enum) {
+            xml.append(escape(((Enum<?>) value).name()));
+        } else {
+            xml.append(escape(String.valueOf(value)));
+        }
+    }
+
+    /**
+     * アノテーションの属性値を取得する。
+     *
+     * @param annotation アノテーション
+     * @param name 属性名
+     * @return 属性値
+     */
+    private static Object getAttribute(Annotation annotation, String name) {
+        try {
+            final Method method = annotation.annotationType().getDeclaredMethod(name);
+            method.setAccessible(true);
+            return method.invoke(annotation);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(
+                    "attribute not found. annotation=[" + annotation.annotationType().getName() + "], attribute=[" + name + ']', e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * XMLの特殊文字をエスケープする。
+     *
+     * @param value 値
+     * @return エスケープした値
+     */
+    private static String escape(String value) {
+        final StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                case '\'':
+                    sb.append("&apos;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -103,9 +103,7 @@ public @interface Length {
             if (value == null || value.length() == 0) {
                 return true;
             }
-            final int length = Character.codePointCount(value, 0, value.length());
-
-            if (isValid(length)) {
+            if (isValid(value)) {
                 return true;
             }
 
@@ -139,12 +137,53 @@ public @interface Length {
 
         /**
          * 値の長さが有効な桁数かどうか。
+         * <p>
+         * 値の桁数(コードポイント数)は、UTF-16の文字数の半分(切り上げ)以上、UTF-16の文字数以下となる。
+         * この範囲だけで判定できる場合は、コードポイント数を数えずに判定する。
+         * 数える場合も、最大の文字数を超えた時点で数えるのをやめる。
          *
-         * @param length 値の桁数。
+         * @param value 値
          * @return 有効な桁数の場合は{@code true}
          */
-        private boolean isValid(final int length) {
-            return min <= length && length <= max();
+        private boolean isValid(final CharSequence value) {
+            final int length = value.length();
+            final int max = max();
+            final int minCodePoints = (length + 1) >>> 1;
+            if (min <= minCodePoints && length <= max) {
+                return true;
+            }
+            if (length < min || minCodePoints > max) {
+                return false;
+            }
+            final int codePoints = countCodePoints(value, max);
+            return min <= codePoints && codePoints <= max;
+        }
+
+        /**
+         * 値のコードポイント数を数える。
+         * <p>
+         * ペアになっていないサロゲートは、{@link Character#codePointCount(CharSequence, int, int)}と同じく1文字として数える。
+         *
+         * @param value 値
+         * @param limit 数える上限。コードポイント数がこの値を超えた時点で数えるのをやめる
+         * @return コードポイント数。上限を超えた場合は上限より大きい値
+         */
+        private static int countCodePoints(final CharSequence value, final int limit) {
+            final int length = value.length();
+            int count = 0;
+            int i = 0;
+            while (i < length) {
+                if (++count > limit) {
+                    return count;
+                }
+                if (Character.isHighSurrogate(value.charAt(i)) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i += 2;
+                } else {
+                    i++;
+                }
+            }
+            return count;
         }
 
         /**
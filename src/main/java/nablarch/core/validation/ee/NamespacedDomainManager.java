@@ -0,0 +1,164 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.util.annotation.Published;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 複数のドメイン定義Beanを、名前空間ごとに管理する{@link DomainManager}実装クラス。
+ * <p/>
+ * ドメイン名は「名前空間.プロパティ名」の形式で指定する。
+ * 名前空間を含まないドメイン名は、デフォルトのドメイン定義Beanのプロパティとなる。
+ * <pre>
+ * {@code @Domain("billing.amount")}  // 名前空間"billing"のドメイン定義Beanのamountプロパティ
+ * {@code @Domain("name")}            // デフォルトのドメイン定義Beanのnameプロパティ
+ * </pre>
+ * 名前空間に"."を含めることもできる(例:{@code "billing.tax"})。
+ * この場合、ドメイン名の最後の"."より前が名前空間となる。
+ * <p/>
+ * ドメイン名とドメイン定義Beanのプロパティの対応は、初回の使用時に全てのドメイン定義Beanのプロパティから作成する。
+ * 対応の作成にはBean Validationのメタデータを使用しないため、
+ * 各ドメイン定義Beanのメタデータは、そのドメイン定義Beanのドメインが初めて使用された時点で生成される。
+ * 起動時に生成する場合は、{@link DomainCatalog#setWarmUpNamespaces(java.util.List)}で名前空間を指定する。
+ * <p/>
+ * このクラスを"domainManager"という名前でコンポーネント定義する。
+ * <pre>
+ * {@code <component name="domainManager" class="nablarch.core.validation.ee.NamespacedDomainManager">
+ *   <property name="defaultDomainBean" value="com.example.domain.SampleDomain"/>
+ *   <property name="domainBeans">
+ *     <map>
+ *       <entry key="billing" value="com.example.domain.BillingDomain"/>
+ *       <entry key="customer" value="com.example.domain.CustomerDomain"/>
+ *     </map>
+ *   </property>
+ * </component>}
+ * </pre>
+ *
+ * @see Domain
+ */
+@Published(tag = "architect")
+public class NamespacedDomainManager implements DomainManager<Object> {
+
+    /** デフォルトのドメイン定義Beanのクラス名 */
+    private String defaultDomainBean;
+
+    /** 名前空間ごとのドメイン定義Beanのクラス名 */
+    private Map<String, String> domainBeans = Collections.emptyMap();
+
+    /** ドメイン名とドメイン定義Beanのプロパティの対応 */
+    private volatile Map<String, DomainDefinition> index;
+
+    /**
+     * デフォルトのドメイン定義Beanのクラス名を設定する。
+     * <p/>
+     * 名前空間を含まないドメイン名を使用しない場合は、設定する必要はない。
+     *
+     * @param defaultDomainBean デフォルトのドメイン定義Beanのクラス名
+     */
+    public void setDefaultDomainBean(String defaultDomainBean) {
+        this.defaultDomainBean = defaultDomainBean;
+        index = null;
+    }
+
+    /**
+     * 名前空間ごとのドメイン定義Beanのクラス名を設定する。
+     *
+     * @param domainBeans 名前空間をキー、ドメイン定義Beanのクラス名を値とする{@link Map}
+     */
+    public void setDomainBeans(Map<String, String> domainBeans) {
+        this.domainBeans = domainBeans;
+        index = null;
+    }
+
+    /**
+     * デフォルトのドメイン定義BeanのClassを取得する。
+     *
+     * @return デフォルトのドメイン定義BeanのClass
+     * @throws IllegalStateException デフォルトのドメイン定義Beanが設定されていない場合
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<Object> getDomainBean() throws IllegalStateException {
+        if (defaultDomainBean == null) {
+            throw new IllegalStateException("defaultDomainBean is not set.");
+        }
+        return (Class<Object>) loadClass(defaultDomainBean);
+    }
+
+    /**
+     * ドメイン名に対応するドメイン定義Beanのプロパティを取得する。
+     *
+     * @param domainName ドメイン名
+     * @return ドメイン定義Beanのプロパティ。存在しない場合は{@code null}
+     */
+    DomainDefinition getDefinition(String domainName) {
+        return getIndex().get(domainName);
+    }
+
+    /**
+     * ドメイン名とドメイン定義Beanのプロパティの対応を取得する。
+     * <p/>
+     * 初回の呼び出し時に作成する。
+     *
+     * @return ドメイン名をキー、ドメイン定義Beanのプロパティを値とする{@link Map}
+     */
+    Map<String, DomainDefinition> getIndex() {
+        Map<String, DomainDefinition> result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = Collections.unmodifiableMap(createIndex());
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ドメイン名とドメイン定義Beanのプロパティの対応を作成する。
+     *
+     * @return ドメイン名をキー、ドメイン定義Beanのプロパティを値とする{@link Map}
+     */
+    private Map<String, DomainDefinition> createIndex() {
+        final Map<String, DomainDefinition> result = new HashMap<String, DomainDefinition>();
+        if (defaultDomainBean != null) {
+            addDefinitions(result, "", loadClass(defaultDomainBean));
+        }
+        for (Map.Entry<String, String> entry : domainBeans.entrySet()) {
+            addDefinitions(result, entry.getKey() + '.', loadClass(entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * ドメイン定義Beanの全てのプロパティを、ドメイン名との対応に追加する。
+     *
+     * @param index 追加先
+     * @param prefix ドメイン名の接頭辞(名前空間と".")
+     * @param domainBean ドメイン定義Bean
+     */
+    private static void addDefinitions(Map<String, DomainDefinition> index, String prefix, Class<?> domainBean) {
+        for (String propertyName : DomainSupport.getDomainNames(domainBean)) {
+            index.put(prefix + propertyName, new DomainDefinition(domainBean, propertyName));
+        }
+    }
+
+    /**
+     * ドメイン定義Beanのクラスをロードする。
+     *
+     * @param className クラス名
+     * @return クラス
+     * @throws IllegalArgumentException クラスが存在しない場合
+     */
+    private static Class<?> loadClass(String className) throws IllegalArgumentException {
+        try {
+            return Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("domain bean class was not found. class=[" + className + ']', e);
+        }
+    }
+}
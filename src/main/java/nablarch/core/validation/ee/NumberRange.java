@@ -100,6 +100,16 @@ public @interface NumberRange {
             numberRange = constraintAnnotation;
         }
 
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * {@link BigDecimal}に変換せずに、最小値・最大値と直接比較する。
+         */
+        @Override
+        protected boolean isValid(final long value) {
+            return numberRange.min() <= value && value <= numberRange.max();
+        }
+
         @Override
         protected Range getRange(NumberRange constraintAnnotation) {
             return new Range(BigDecimal.valueOf(constraintAnnotation.max()),
@@ -4,51 +4,78 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
-import java.util.regex.Pattern;
 
 /**
  * 数値関連のバリデーションを行う抽象クラス。
+ * <p/>
+ * 文字列は正規表現を使用せずに1文字ずつ解析し、{@link BigDecimal}は必要な場合にのみ生成する。
+ * {@link ValidatorUtil}や{@link DomainValidator}から呼び出された場合は、同じ文字列に対する解析結果を、
+ * 同じ値に設定された他の数値関連のバリデーションと共有する({@link ParsedNumber#valueOf(CharSequence)})。
  *
  * @author Naoki Yamamoto
  */
 public abstract class NumberValidatorSupport<T extends Annotation> implements ConstraintValidator<T, Object> {
 
-    /** 有効な数値を表すパターン */
-    private static final Pattern PATTERN = Pattern.compile("^[+-]?\\d*\\.?\\d+$");
-
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
         if (value == null) {
             return true;
         }
 
-        BigDecimal number = null;
+        final boolean valid;
         if (value instanceof BigDecimal) {
-            number = (BigDecimal) value;
+            valid = isValid((BigDecimal) value);
         } else if (value instanceof CharSequence) {
             CharSequence casted = (CharSequence) value;
             if (casted.length() == 0) {
                 return true;
             }
-            if (!PATTERN.matcher(casted).matches()) {
-                buildMessage(context);
-                return false;
-            }
-            number = getDecimalValue(casted);
+            // 同じ値に対する他の数値関連のバリデーションと、解析結果を共有する。
+            return isValid(ParsedNumber.valueOf(casted), context);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            valid = isValid(((Number) value).longValue());
         } else if (value instanceof Number) {
             Number casted = (Number) value;
-            number = getDecimalValue(casted.toString());
+            valid = isValid(getDecimalValue(casted.toString()));
         } else {
             buildMessage(context);
             return false;
         }
-        if (isValid(number)) {
+        if (valid) {
+            return true;
+        }
+        buildMessage(context);
+        return false;
+    }
+
+    /**
+     * 解析済みの数値文字列のバリデーションを行い、検証エラーの場合はメッセージを構築する。
+     *
+     * @param number 解析済みの数値文字列。数値文字列の形式でない場合は{@code null}
+     * @param context コンテキスト
+     * @return バリデーション成否
+     */
+    private boolean isValid(ParsedNumber number, ConstraintValidatorContext context) {
+        if (number != null && isValid(number)) {
             return true;
         }
         buildMessage(context);
         return false;
     }
 
+    /**
+     * 解析済みの数値文字列のバリデーションを行う。
+     * <p/>
+     * 小数部を持たず{@code long}で表せる値の場合は{@link #isValid(long)}を、
+     * それ以外の場合は{@link #isValid(BigDecimal)}を呼び出す。
+     *
+     * @param number 解析済みの数値文字列
+     * @return バリデーション成否
+     */
+    boolean isValid(ParsedNumber number) {
+        return number.isLong() ? isValid(number.longValue()) : isValid(number.toBigDecimal());
+    }
+
     /**
      * {@link BigDecimal}型に変換した値を取得する。
      * @param value 検証対象オブジェクト
@@ -70,6 +97,21 @@ public abstract class NumberValidatorSupport<T extends Annotation> implements Co
      */
     protected abstract boolean isValid(final BigDecimal value);
 
+    /**
+     * 小数部を持たず{@code long}で表せる検証対象オブジェクトのバリデーションを行う。
+     * <p/>
+     * 検証対象オブジェクトが{@code Integer}、{@code Long}、{@code Short}、{@code Byte}の場合や、
+     * 小数点を含まない18桁以下の数値文字列の場合に呼び出される。
+     * デフォルト実装では、{@link BigDecimal}に変換して{@link #isValid(BigDecimal)}を呼び出す。
+     * {@link BigDecimal}を生成せずに判定できる場合は、サブクラスでオーバーライドすること。
+     *
+     * @param value 検証対象オブジェクト
+     * @return バリデーション成否
+     */
+    protected boolean isValid(final long value) {
+        return isValid(BigDecimal.valueOf(value));
+    }
+
     /**
      * 検証エラー時のメッセージを構築する。
      *
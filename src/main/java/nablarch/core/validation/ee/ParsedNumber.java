@@ -0,0 +1,239 @@
+package nablarch.core.validation.ee;
+
+import java.math.BigDecimal;
+
+/**
+ * 数値文字列を解析した結果を保持するクラス。
+ * <p/>
+ * 数値文字列は、符号({@code +}、{@code -})、数字(0～9)、小数点のみで構成され、
+ * 正規表現の{@code ^[+-]?\d*\.?\d+$}に一致する形式である必要がある。
+ * <p/>
+ * 先頭の0を除いた桁数が18桁以下の場合は、符号付きの仮数部を{@code long}で保持し、
+ * {@link BigDecimal}は必要になるまで生成しない。
+ * 18桁を超える場合は、{@link BigDecimal}を生成して保持する。
+ * <p/>
+ * 1つのプロパティに複数の数値関連のバリデーションが設定されている場合に同じ文字列を繰り返し解析しないよう、
+ * バリデーションの呼び出し中({@link #openScope()}から{@link #closeScope()}まで)は、
+ * スレッドごとに直前に解析した{@link String}と解析結果を保持する({@link #valueOf(CharSequence)})。
+ * 呼び出しの終了時にスレッドから削除するため、スレッドプールのスレッドに解析結果やクラスが残ることはない。
+ *
+ * @see NumberValidatorSupport
+ */
+final class ParsedNumber {
+
+    /** {@code long}で保持できる仮数部の最大桁数 */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** バリデーションの呼び出し中のスレッドごとの直前の解析結果 */
+    private static final ThreadLocal<Memo> MEMO = new ThreadLocal<Memo>();
+
+    /** 仮数部を{@code long}で保持しているかどうか */
+    private final boolean compact;
+
+    /** 符号付きの仮数部（{@link #compact}が{@code false}の場合は使用しない） */
+    private final long unscaledValue;
+
+    /** スケール(小数部の桁数) */
+    private final int scale;
+
+    /** 精度(先頭の0を除いた仮数部の桁数。仮数部が0の場合は1) */
+    private final int precision;
+
+    /** {@link BigDecimal}に変換した値 */
+    private BigDecimal decimal;
+
+    /**
+     * 仮数部を{@code long}で保持するコンストラクタ。
+     *
+     * @param unscaledValue 符号付きの仮数部
+     * @param scale スケール
+     * @param precision 精度
+     */
+    private ParsedNumber(long unscaledValue, int scale, int precision) {
+        compact = true;
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        this.precision = precision;
+    }
+
+    /**
+     * {@link BigDecimal}を保持するコンストラクタ。
+     *
+     * @param decimal 値
+     */
+    private ParsedNumber(BigDecimal decimal) {
+        compact = false;
+        unscaledValue = 0L;
+        scale = decimal.scale();
+        precision = decimal.precision();
+        this.decimal = decimal;
+    }
+
+    /**
+     * 解析結果を共有する範囲を開始する。
+     * <p/>
+     * 必ず{@link #closeScope()}と対で呼び出すこと。入れ子で呼び出した場合は、最も外側の範囲で共有する。
+     */
+    static void openScope() {
+        Memo memo = MEMO.get();
+        if (memo == null) {
+            memo = new Memo();
+            MEMO.set(memo);
+        }
+        memo.depth++;
+    }
+
+    /**
+     * 解析結果を共有する範囲を終了する。
+     * <p/>
+     * 最も外側の範囲を終了した場合は、保持している解析結果をスレッドから削除する。
+     */
+    static void closeScope() {
+        final Memo memo = MEMO.get();
+        if (memo != null && --memo.depth == 0) {
+            MEMO.remove();
+        }
+    }
+
+    /**
+     * 数値文字列の解析結果を取得する。
+     * <p/>
+     * 解析結果を共有する範囲内で、同じスレッドで直前に解析した{@link String}と同一のインスタンスの場合は、直前の解析結果を返す。
+     * 範囲外の場合や、内容が変更される可能性がある{@link String}以外の{@link CharSequence}の場合は、常に解析する。
+     *
+     * @param value 数値文字列
+     * @return 解析結果。数値文字列の形式でない場合は{@code null}
+     */
+    static ParsedNumber valueOf(CharSequence value) {
+        final Memo memo = MEMO.get();
+        if (memo == null || !(value instanceof String)) {
+            return parse(value);
+        }
+        if (memo.value != value) {
+            memo.number = parse(value);
+            memo.value = (String) value;
+        }
+        return memo.number;
+    }
+
+    /**
+     * 数値文字列を解析する。
+     *
+     * @param value 数値文字列
+     * @return 解析結果。数値文字列の形式でない場合は{@code null}
+     */
+    static ParsedNumber parse(CharSequence value) {
+        final int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '+' || value.charAt(0) == '-')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        long unscaledValue = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        boolean hasPoint = false;
+        for (; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (hasPoint) {
+                    scale++;
+                }
+                if (significantDigits > 0 || c != '0') {
+                    significantDigits++;
+                    if (significantDigits <= MAX_LONG_DIGITS) {
+                        unscaledValue = unscaledValue * 10 + (c - '0');
+                    }
+                }
+            } else if (c == '.' && !hasPoint) {
+                hasPoint = true;
+            } else {
+                return null;
+            }
+        }
+        // 数字が存在しない場合や、小数点で終わる場合は不正
+        if (digits == 0 || (hasPoint && scale == 0)) {
+            return null;
+        }
+        if (significantDigits > MAX_LONG_DIGITS) {
+            return new ParsedNumber(new BigDecimal(value.toString()));
+        }
+        return new ParsedNumber(negative ? -unscaledValue : unscaledValue, scale, Math.max(significantDigits, 1));
+    }
+
+    /**
+     * 小数部を持たず、{@code long}で表せる値かどうか。
+     * <p/>
+     * 小数部が0のみの場合(例:{@code "1.0"})は、小数部を持つものとして扱う。
+     *
+     * @return {@code long}で表せる場合は{@code true}
+     */
+    boolean isLong() {
+        return compact && scale == 0;
+    }
+
+    /**
+     * {@code long}に変換した値を取得する。
+     * <p/>
+     * {@link #isLong()}が{@code true}の場合のみ使用できる。
+     *
+     * @return 値
+     */
+    long longValue() {
+        return unscaledValue;
+    }
+
+    /**
+     * スケール(小数部の桁数)を取得する。
+     *
+     * @return スケール
+     */
+    int scale() {
+        return scale;
+    }
+
+    /**
+     * 精度(先頭の0を除いた仮数部の桁数)を取得する。
+     * <p/>
+     * {@link BigDecimal#precision()}と同じく、値が0の場合は1を返す。
+     *
+     * @return 精度
+     */
+    int precision() {
+        return precision;
+    }
+
+    /**
+     * {@link BigDecimal}に変換した値を取得する。
+     * <p/>
+     * 数値文字列から{@link BigDecimal#BigDecimal(String)}で生成した値と等しい(スケールも同じ)値を返す。
+     *
+     * @return 値
+     */
+    BigDecimal toBigDecimal() {
+        BigDecimal result = decimal;
+        if (result == null) {
+            result = BigDecimal.valueOf(unscaledValue, scale);
+            decimal = result;
+        }
+        return result;
+    }
+
+    /**
+     * 直前に解析した文字列と解析結果を保持するクラス。
+     */
+    private static final class Memo {
+
+        /** 範囲の入れ子の深さ */
+        private int depth;
+
+        /** 直前に解析した文字列 */
+        private String value;
+
+        /** 解析結果 */
+        private ParsedNumber number;
+    }
+}
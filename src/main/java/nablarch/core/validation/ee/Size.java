@@ -14,6 +14,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Collection;
+import java.util.Map;
 
 import javax.validation.Constraint;
 import javax.validation.ConstraintValidator;
@@ -36,6 +37,14 @@ import javax.validation.Payload;
  * }}
  * </pre>
  * 
+ * 以下の型の要素数をチェックできる。
+ * <ul>
+ *     <li>配列(プリミティブ型の配列を含む)</li>
+ *     <li>{@link Collection}</li>
+ *     <li>{@link Map}</li>
+ * </ul>
+ * 文字列の文字数をチェックする場合は、{@link Length}を使用すること。
+ * 
  * エラー時のメッセージは、以下のルールにより決定される。
  * <ol>
  *     <li>{@link #message()}が指定されている場合は、その値を使用する。</li>
@@ -51,7 +60,16 @@ import javax.validation.Payload;
 @Documented
 @Constraint(validatedBy = {
         Size.ArraySizeValidator.class,
-        Size.CollectionSizeValidator.class
+        Size.BooleanArraySizeValidator.class,
+        Size.ByteArraySizeValidator.class,
+        Size.CharArraySizeValidator.class,
+        Size.ShortArraySizeValidator.class,
+        Size.IntArraySizeValidator.class,
+        Size.LongArraySizeValidator.class,
+        Size.FloatArraySizeValidator.class,
+        Size.DoubleArraySizeValidator.class,
+        Size.CollectionSizeValidator.class,
+        Size.MapSizeValidator.class
 })
 @Published
 public @interface Size {
@@ -172,6 +190,102 @@ public @interface Size {
         }
     }
 
+    /**
+     * {@code boolean}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class BooleanArraySizeValidator extends Size.AbstractSizeValidator<boolean[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(boolean[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code byte}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class ByteArraySizeValidator extends Size.AbstractSizeValidator<byte[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(byte[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code char}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class CharArraySizeValidator extends Size.AbstractSizeValidator<char[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(char[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code short}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class ShortArraySizeValidator extends Size.AbstractSizeValidator<short[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(short[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code int}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class IntArraySizeValidator extends Size.AbstractSizeValidator<int[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(int[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code long}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class LongArraySizeValidator extends Size.AbstractSizeValidator<long[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(long[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code float}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class FloatArraySizeValidator extends Size.AbstractSizeValidator<float[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(float[] value) {
+            return value.length;
+        }
+    }
+
+    /**
+     * {@code double}型の配列の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class DoubleArraySizeValidator extends Size.AbstractSizeValidator<double[]> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(double[] value) {
+            return value.length;
+        }
+    }
+
     /**
      * コレクションの要素数をバリデーションする{@link ConstraintValidator}実装クラス。
      */
@@ -184,4 +298,16 @@ public @interface Size {
         }
     }
 
+    /**
+     * {@link Map}の要素数をバリデーションする{@link ConstraintValidator}実装クラス。
+     */
+    class MapSizeValidator extends Size.AbstractSizeValidator<Map<?, ?>> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getActualSizeOf(Map<?, ?> value) {
+            return value.size();
+        }
+    }
+
 }
@@ -11,7 +11,6 @@ import javax.validation.Payload;
 
 import nablarch.core.repository.SystemRepository;
 import nablarch.core.util.annotation.Published;
-import nablarch.core.validation.validator.unicode.CharsetDefValidationUtil;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.CONSTRUCTOR;
@@ -52,13 +51,18 @@ import static java.lang.annotation.ElementType.PARAMETER;
  *     <property name="allowSurrogatePair" value="true"/>
  *   </component>}
  * </pre>
+ * <p>
+ *   許容文字集合定義は、バリデータの初期化時に判定用の表に展開し、許容文字集合定義のインスタンスごとにキャッシュする。
+ *   このため、許容文字集合定義の内容はシステムの起動後に変更しないこと。
+ *   {@link SystemRepository}を再読み込みして許容文字集合定義を差し替えた場合は、差し替えた定義でバリデーションを行う。
+ * </p>
  * 
  * @author T.Kawasaki
  */
 @Target({ METHOD, FIELD, ANNOTATION_TYPE, CONSTRUCTOR, PARAMETER })
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Constraint(validatedBy = { SystemChar.SystemCharValidator.class})
+@Constraint(validatedBy = { SystemChar.SystemCharValidator.class, SystemChar.CharSequenceValidator.class })
 @Published
 public @interface SystemChar {
 
@@ -110,28 +114,89 @@ public @interface SystemChar {
         /** アノテーション */
         private SystemChar annotation;
 
-        /** {@inheritDoc} */
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * 許容文字集合定義を{@link SystemRepository}から取得して展開する。
+         */
         @Override
         public void initialize(SystemChar constraintAnnotation) {
             annotation = constraintAnnotation;
+            getCharsetDef();
         }
 
         /** {@inheritDoc} */
         @Override
         public boolean isValid(String value, ConstraintValidatorContext context) {
+            return isValid(value);
+        }
+
+        /**
+         * 文字列が許容文字のみで構成されているかどうかを検証する。
+         *
+         * @param value バリデーション対象文字列
+         * @return 許容文字のみで構成されている場合は{@code true}
+         */
+        boolean isValid(CharSequence value) {
             if (value == null) {
                 return true;
             }
-            SystemCharConfig config = SystemRepository.get(CONFIG_NAME);
-            if (config == null) {
-                config = DEFAULT_CONFIG;
-            }
-            return CharsetDefValidationUtil.isValid(
-                    annotation.charsetDef(),           // 許容される文字集合の定義
+            return getCharsetDef().isValid(
                     value,                             // バリデーション対象文字列
                     annotation.allowLineSeparator(),    // 改行コードを許容するか
-                    config.isAllowSurrogatePair()
+                    getConfig().isAllowSurrogatePair()
             );
         }
+
+        /**
+         * システム許容文字のバリデーションに関する設定を取得する。
+         * <p/>
+         * {@link SystemRepository}に設定されていない場合は、デフォルトの設定を返す。
+         *
+         * @return 設定
+         */
+        static SystemCharConfig getConfig() {
+            final SystemCharConfig config = SystemRepository.get(CONFIG_NAME);
+            return config == null ? DEFAULT_CONFIG : config;
+        }
+
+        /**
+         * 展開済みの許容文字集合定義を取得する。
+         * <p/>
+         * {@link SystemRepository}が再読み込みされた場合に反映されるよう、許容文字集合定義は呼び出しごとに取得する。
+         * 展開済みの許容文字集合定義は{@link CompiledCharsetDef}が許容文字集合定義ごとにキャッシュするため、
+         * 同じ許容文字集合定義を再度展開することはない。
+         *
+         * @return 展開済みの許容文字集合定義
+         */
+        private CompiledCharsetDef getCharsetDef() {
+            return CompiledCharsetDef.lookUp(annotation.charsetDef());
+        }
+    }
+
+    /**
+     * {@link CharSequence}に対してシステム許容文字のバリデーションを行う{@link ConstraintValidator}実装クラス。
+     * <p>
+     *   {@link StringBuilder}や{@link java.nio.CharBuffer}など、{@link String}以外の{@link CharSequence}を
+     *   {@link String}に変換することなくバリデーションする。
+     *   判定内容は{@link SystemCharValidator}と同じである。
+     * </p>
+     */
+    class CharSequenceValidator implements ConstraintValidator<SystemChar, CharSequence> {
+
+        /** 判定処理を委譲する{@link SystemCharValidator} */
+        private final SystemCharValidator delegate = new SystemCharValidator();
+
+        /** {@inheritDoc} */
+        @Override
+        public void initialize(SystemChar constraintAnnotation) {
+            delegate.initialize(constraintAnnotation);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return delegate.isValid(value);
+        }
     }
 }
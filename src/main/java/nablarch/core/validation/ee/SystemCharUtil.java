@@ -0,0 +1,117 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.util.annotation.Published;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * システム許容文字の判定を、{@link SystemChar}アノテーションを使用せずに行うユーティリティクラス。
+ * <p/>
+ * 判定内容は{@link SystemChar}と同じである。
+ * サロゲートペアを許容するかどうかは、{@link SystemRepository}に設定された{@link SystemCharConfig}に従う。
+ * <p/>
+ * アップロードされたテキストファイルなど、文字列全体をメモリ上に保持したくない大きな入力を
+ * {@link Reader}から一定の文字数ずつ読み込みながら判定する場合に使用する。
+ * <pre>
+ * {@code Reader reader = new InputStreamReader(in, "UTF-8");
+ * try {
+ *     if (!SystemCharUtil.isValid("全角文字", reader, true)) {
+ *         // エラー時の処理
+ *     }
+ * } finally {
+ *     reader.close();
+ * }}
+ * </pre>
+ * また、ファイルから読み込んだバイト列を文字列に変換せずに判定することもできる。
+ * 文字コードがUTF-8、US-ASCII、ISO-8859-1の場合は、バイト列のまま判定する。
+ *
+ * @see SystemChar
+ */
+@Published
+public final class SystemCharUtil {
+
+    /** コンストラクタ */
+    private SystemCharUtil() {
+    }
+
+    /**
+     * 文字列が許容文字のみで構成されているかどうかを判定する。
+     *
+     * @param charsetDef 許容文字集合定義の名称
+     * @param value 判定対象の文字列
+     * @param allowLineSeparator 改行コードを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     * @throws IllegalArgumentException 許容文字集合定義が{@link SystemRepository}に登録されていない場合
+     */
+    public static boolean isValid(String charsetDef, CharSequence value, boolean allowLineSeparator)
+            throws IllegalArgumentException {
+        return CompiledCharsetDef.lookUp(charsetDef).isValid(
+                value, allowLineSeparator, SystemChar.SystemCharValidator.getConfig().isAllowSurrogatePair());
+    }
+
+    /**
+     * {@link Reader}から読み込んだ文字列が許容文字のみで構成されているかどうかを判定する。
+     * <p/>
+     * 一定の文字数ずつ読み込んで判定するため、文字列全体をメモリ上に保持することはない。
+     * 許容されない文字が現れた時点で判定を終了し、残りは読み込まない。
+     * {@link Reader}のクローズは呼び出し元で行うこと。
+     *
+     * @param charsetDef 許容文字集合定義の名称
+     * @param reader 判定対象の文字列を読み込む{@link Reader}
+     * @param allowLineSeparator 改行コードを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalArgumentException 許容文字集合定義が{@link SystemRepository}に登録されていない場合
+     */
+    public static boolean isValid(String charsetDef, Reader reader, boolean allowLineSeparator)
+            throws IOException, IllegalArgumentException {
+        return CompiledCharsetDef.lookUp(charsetDef).isValid(
+                reader, allowLineSeparator, SystemChar.SystemCharValidator.getConfig().isAllowSurrogatePair());
+    }
+
+    /**
+     * エンコードされたバイト列が許容文字のみで構成されているかどうかを判定する。
+     * <p/>
+     * 文字コードとして不正なバイト列や、対応する文字が存在しないバイト列が含まれる場合は、
+     * 許容文字のみで構成されていないと判定する。
+     *
+     * @param charsetDef 許容文字集合定義の名称
+     * @param bytes 判定対象のバイト列
+     * @param offset 判定を開始する位置
+     * @param length 判定するバイト数
+     * @param charset バイト列の文字コード
+     * @param allowLineSeparator 改行コードを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     * @throws IllegalArgumentException 許容文字集合定義が{@link SystemRepository}に登録されていない場合
+     * @throws IndexOutOfBoundsException 判定を開始する位置、または判定するバイト数が不正な場合
+     */
+    public static boolean isValid(String charsetDef, byte[] bytes, int offset, int length, Charset charset,
+            boolean allowLineSeparator) throws IllegalArgumentException, IndexOutOfBoundsException {
+        return isValid(charsetDef, ByteBuffer.wrap(bytes, offset, length), charset, allowLineSeparator);
+    }
+
+    /**
+     * エンコードされたバイト列が許容文字のみで構成されているかどうかを判定する。
+     * <p/>
+     * バイト列の{@link ByteBuffer#position() position}から{@link ByteBuffer#limit() limit}までを判定する。
+     * 判定後もバイト列のpositionやlimitは変更されない。
+     * 文字コードとして不正なバイト列や、対応する文字が存在しないバイト列が含まれる場合は、
+     * 許容文字のみで構成されていないと判定する。
+     *
+     * @param charsetDef 許容文字集合定義の名称
+     * @param bytes 判定対象のバイト列
+     * @param charset バイト列の文字コード
+     * @param allowLineSeparator 改行コードを許容する場合は{@code true}
+     * @return 許容文字のみで構成されている場合は{@code true}
+     * @throws IllegalArgumentException 許容文字集合定義が{@link SystemRepository}に登録されていない場合
+     */
+    public static boolean isValid(String charsetDef, ByteBuffer bytes, Charset charset, boolean allowLineSeparator)
+            throws IllegalArgumentException {
+        return CompiledCharsetDef.lookUp(charsetDef).isValid(
+                bytes, charset, allowLineSeparator, SystemChar.SystemCharValidator.getConfig().isAllowSurrogatePair());
+    }
+}
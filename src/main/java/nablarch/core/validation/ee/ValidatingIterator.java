@@ -0,0 +1,128 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.message.Message;
+import nablarch.core.util.annotation.Published;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 要素をBean Validationしながら走査する{@link Iterator}。
+ * <p/>
+ * 元の{@link Iterator}から要素を1件ずつ取り出してBean Validationを行い、
+ * バリデーションエラーとならなかった要素のみを返す。
+ * バリデーションエラーとなった要素は、変換済みの{@link Message}とともに{@link InvalidElementHandler}に通知され、
+ * この{@link Iterator}からは返されない。
+ * <p/>
+ * 要素は先読みした1件のみを保持するため、元の{@link Iterator}の件数によらず一定のメモリで走査できる。
+ * ファイルなどから読み込んだ要素を順次処理するバッチ処理での使用を想定している。
+ * <pre>
+ * {@code Iterator<Record> records = new ValidatingIterator<Record>(reader, new InvalidElementHandler<Record>() {
+ *     public void handle(Record record, List<Message> messages) {
+ *         // エラー時の処理
+ *     }
+ * });
+ * while (records.hasNext()) {
+ *     // バリデーションエラーとならなかった要素に対する処理
+ * }}
+ * </pre>
+ *
+ * @param <T> 要素の型
+ */
+@Published
+public class ValidatingIterator<T> implements Iterator<T> {
+
+    /** 元の{@link Iterator} */
+    private final Iterator<? extends T> source;
+
+    /** バリデーションエラーとなった要素の通知先 */
+    private final InvalidElementHandler<? super T> handler;
+
+    /** バリデーションで使用するグループ */
+    private final Class<?>[] groups;
+
+    /** {@link Validator} */
+    private final Validator validator;
+
+    /** 先読みした要素 */
+    private T next;
+
+    /** 先読みした要素が存在するかどうか */
+    private boolean hasNext;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param source 元の{@link Iterator}
+     * @param handler バリデーションエラーとなった要素の通知先
+     * @param groups バリデーションで使用するグループ
+     */
+    public ValidatingIterator(Iterator<? extends T> source, InvalidElementHandler<? super T> handler, Class<?>... groups) {
+        this.source = source;
+        this.handler = handler;
+        this.groups = groups;
+        validator = ValidatorUtil.getValidator();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        while (!hasNext && source.hasNext()) {
+            final T element = source.next();
+            final Set<ConstraintViolation<T>> constraintViolations = validator.validate(element, groups);
+            if (constraintViolations.isEmpty()) {
+                next = element;
+                hasNext = true;
+            } else {
+                final List<Message> messages = ValidatorUtil.getConverterFactory()
+                                                            .create()
+                                                            .convert(constraintViolations);
+                handler.handle(element, messages);
+            }
+        }
+        return hasNext;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T element = next;
+        next = null;
+        hasNext = false;
+        return element;
+    }
+
+    /**
+     * サポートしない。
+     *
+     * @throws UnsupportedOperationException 常に送出する
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove is not supported.");
+    }
+
+    /**
+     * バリデーションエラーとなった要素を受け取るインタフェース。
+     *
+     * @param <T> 要素の型
+     */
+    @Published
+    public interface InvalidElementHandler<T> {
+
+        /**
+         * バリデーションエラーとなった要素を処理する。
+         *
+         * @param element バリデーションエラーとなった要素
+         * @param messages バリデーションエラーのメッセージ
+         */
+        void handle(T element, List<Message> messages);
+    }
+}
@@ -0,0 +1,92 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.message.ApplicationException;
+import nablarch.core.message.Message;
+import nablarch.core.util.annotation.Published;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bean Validationの結果を保持するクラス。
+ * <p/>
+ * バリデーションエラーを例外ではなく戻り値で扱いたい場合に使用する。
+ * 例外として扱う場合は{@link #orThrow()}を呼び出す。
+ * <pre>
+ * {@code ValidationResult result = ValidatorUtil.tryValidate(bean);
+ * if (!result.isValid()) {
+ *     // エラー時の処理
+ * }}
+ * </pre>
+ *
+ * @see ValidatorUtil#tryValidate(Object)
+ */
+@Published
+public final class ValidationResult {
+
+    /** バリデーションエラーが発生しなかったことを表す結果 */
+    private static final ValidationResult VALID = new ValidationResult(Collections.<Message>emptyList());
+
+    /** バリデーションエラーのメッセージ */
+    private final List<Message> messages;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param messages バリデーションエラーのメッセージ
+     */
+    private ValidationResult(List<Message> messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * バリデーションエラーが発生しなかったことを表す結果を取得する。
+     *
+     * @return バリデーション結果
+     */
+    static ValidationResult valid() {
+        return VALID;
+    }
+
+    /**
+     * バリデーションエラーのメッセージから結果を生成する。
+     *
+     * @param messages バリデーションエラーのメッセージ
+     * @return バリデーション結果
+     */
+    static ValidationResult of(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return VALID;
+        }
+        return new ValidationResult(Collections.unmodifiableList(messages));
+    }
+
+    /**
+     * バリデーションエラーが発生しなかったかどうか。
+     *
+     * @return バリデーションエラーが発生しなかった場合は{@code true}
+     */
+    public boolean isValid() {
+        return messages.isEmpty();
+    }
+
+    /**
+     * バリデーションエラーのメッセージを取得する。
+     *
+     * @return バリデーションエラーのメッセージ（エラーが発生しなかった場合は空のリスト）
+     */
+    public List<Message> getMessages() {
+        return messages;
+    }
+
+    /**
+     * バリデーションエラーが発生していた場合に、{@link ApplicationException}を送出する。
+     *
+     * @throws ApplicationException バリデーションエラーが発生していた場合
+     */
+    public void orThrow() throws ApplicationException {
+        if (!isValid()) {
+            throw new ApplicationException(messages);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package nablarch.core.validation.ee;
 
+import nablarch.core.ThreadContext;
 import nablarch.core.message.ApplicationException;
 import nablarch.core.message.Message;
 import nablarch.core.repository.SystemRepository;
@@ -10,9 +11,17 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * {@link Validator}に関するユーティリティクラス。
@@ -24,6 +33,22 @@ public final class ValidatorUtil {
     /** {@link SystemRepository}から取得する際のキー */
     private static final String VALIDATOR_FACTORY_BUILDER = "validatorFactoryBuilder";
 
+    /** {@link ConstraintViolation}を{@link Message}に変換するためのファクトリ */
+    private static final ConstraintViolationConverterFactory CONVERTER_FACTORY = new ConstraintViolationConverterFactory();
+
+    /** 一括バリデーションで1タスクが担当するデフォルトの要素数 */
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+
+    /**
+     * 解決済みのバリデーション処理一式。
+     * <p/>
+     * {@link ValidatorFactoryBuilder}が変わらない限り、同じインスタンスを再利用する。
+     */
+    private static volatile ValidationPipeline pipeline;
+
+    /** {@link #pipeline}の解決とクリアを排他するためのロック */
+    private static final Object PIPELINE_LOCK = new Object();
+
     /** コンストラクタ */
     private ValidatorUtil() {
     }
@@ -46,12 +71,14 @@ public final class ValidatorUtil {
      *         {@link ValidatorFactory}から{@link Validator}インスタンスを生成して返却する。
      *     </li>
      * </ol>
+     * 生成した{@link Validator}インスタンスはキャッシュされ、
+     * {@link ValidatorFactoryBuilder}が変わらない限り、以降の呼び出しではキャッシュしたインスタンスを返却する。
      *
      * @return  {@link Validator}インスタンス
      */
     @Published
     public static Validator getValidator() {
-        return getValidatorFactory().getValidator();
+        return getPipeline().validator;
     }
 
     /**
@@ -59,7 +86,11 @@ public final class ValidatorUtil {
      * テスト用。通常は使用しない。
      */
     public static void clearCachedValidatorFactory() {
-        getValidatorFactoryBuilder().clear();
+        synchronized (PIPELINE_LOCK) {
+            // 先に解決済みの処理を破棄し、クリア前のValidatorFactoryが再びキャッシュされないようにする。
+            pipeline = null;
+            getValidatorFactoryBuilder().clear();
+        }
     }
 
     /**
@@ -67,7 +98,7 @@ public final class ValidatorUtil {
      * @return {@link ValidatorFactory}
      */
     public static ValidatorFactory getValidatorFactory() {
-        return getValidatorFactoryBuilder().buildValidatorFactory();
+        return getPipeline().validatorFactory;
     }
 
     /**
@@ -82,6 +113,42 @@ public final class ValidatorUtil {
         return builder;
     }
 
+    /**
+     * 解決済みの{@link ValidationPipeline}を取得する。
+     * <p/>
+     * {@link SystemRepository}から取得した{@link ValidatorFactoryBuilder}が
+     * キャッシュ済みのものと同一の場合は、キャッシュ済みのインスタンスをそのまま返す。
+     * そうでない場合は、{@link ValidatorFactory}と{@link Validator}を解決し直してキャッシュする。
+     * 解決し直す処理は、{@link #clearCachedValidatorFactory()}と排他して行う。
+     *
+     * @return {@link ValidationPipeline}
+     */
+    static ValidationPipeline getPipeline() {
+        final ValidatorFactoryBuilder builder = getValidatorFactoryBuilder();
+        final ValidationPipeline current = pipeline;
+        if (current != null && current.builder == builder) {
+            return current;
+        }
+        synchronized (PIPELINE_LOCK) {
+            final ValidationPipeline latest = pipeline;
+            if (latest != null && latest.builder == builder) {
+                return latest;
+            }
+            final ValidationPipeline resolved = new ValidationPipeline(builder);
+            pipeline = resolved;
+            return resolved;
+        }
+    }
+
+    /**
+     * {@link ConstraintViolationConverterFactory}を取得する。
+     *
+     * @return {@link ConstraintViolationConverterFactory}
+     */
+    static ConstraintViolationConverterFactory getConverterFactory() {
+        return CONVERTER_FACTORY;
+    }
+
     /**
      * 指定されたBeanオブジェクトに対してBean Validationを行う。
      * <p/>
@@ -92,12 +159,7 @@ public final class ValidatorUtil {
      */
     @Published
     public static void validate(Object bean) {
-        final Validator validator = getValidator();
-        final Set<ConstraintViolation<Object>> constraintViolations = validator.validate(bean);
-        if (!constraintViolations.isEmpty()) {
-            final List<Message> messages = new ConstraintViolationConverterFactory().create().convert(constraintViolations);
-            throw new ApplicationException(messages);
-        }
+        tryValidate(bean).orThrow();
     }
 
     /**
@@ -113,17 +175,7 @@ public final class ValidatorUtil {
      */
     @Published
     public static void validate(Object bean, String... propertyNames) {
-        if (StringUtil.hasValue(propertyNames)) {
-            final Validator validator = getValidator();
-            final Set<ConstraintViolation<Object>> constraintViolations = new HashSet<ConstraintViolation<Object>>();
-            for (String propertyName : propertyNames) {
-                constraintViolations.addAll(validator.validateProperty(bean, propertyName));
-            }
-            if (!constraintViolations.isEmpty()) {
-                final List<Message> messages = new ConstraintViolationConverterFactory().create().convert(constraintViolations);
-                throw new ApplicationException(messages);
-            }
-        }
+        tryValidate(bean, propertyNames).orThrow();
     }
 
     /**
@@ -137,12 +189,7 @@ public final class ValidatorUtil {
      */
     @Published
     public static void validateWithGroup(Object bean, Class<?>... groups) {
-        final Validator validator = getValidator();
-        final Set<ConstraintViolation<Object>> constraintViolations = validator.validate(bean, groups);
-        if (!constraintViolations.isEmpty()) {
-            final List<Message> messages = new ConstraintViolationConverterFactory().create().convert(constraintViolations);
-            throw new ApplicationException(messages);
-        }
+        tryValidateWithGroup(bean, groups).orThrow();
     }
 
 
@@ -158,13 +205,269 @@ public final class ValidatorUtil {
      */
     @Published
     public static void validateProperty(Object bean, String propertyName, Class<?>... groups) {
+        tryValidateProperty(bean, propertyName, groups).orThrow();
+    }
+
+    /**
+     * 指定されたBeanオブジェクトに対してBean Validationを行い、結果を返す。
+     * <p/>
+     * {@link #validate(Object)}と異なり、バリデーションエラーが発生しても例外は送出しない。
+     *
+     * @param bean Bean Validation対象のオブジェクト
+     * @return バリデーション結果
+     */
+    @Published
+    public static ValidationResult tryValidate(Object bean) {
+        ParsedNumber.openScope();
+        try {
+            return toResult(getValidator().validate(bean));
+        } finally {
+            ParsedNumber.closeScope();
+        }
+    }
+
+    /**
+     * 指定されたBeanオブジェクトのプロパティに対してBean Validationを行い、結果を返す。
+     * <p/>
+     * {@code propertyNames}が{@code null}または空の場合は、バリデーションエラーなしの結果を返す。
+     * プロパティ名が重複している場合でも、バリデーションエラーの際に生成されるエラーメッセージは一つになる。
+     * {@link #validate(Object, String...)}と異なり、バリデーションエラーが発生しても例外は送出しない。
+     *
+     * @param bean Bean Validation対象のオブジェクト
+     * @param propertyNames Bean Validation対象のプロパティ名
+     * @return バリデーション結果
+     */
+    @Published
+    public static ValidationResult tryValidate(Object bean, String... propertyNames) {
+        if (!StringUtil.hasValue(propertyNames)) {
+            return ValidationResult.valid();
+        }
         final Validator validator = getValidator();
-        final Set<ConstraintViolation<Object>> constraintViolations = validator.validateProperty(bean, propertyName, groups);
-        if (!constraintViolations.isEmpty()) {
-            final List<Message> messages = new ConstraintViolationConverterFactory().create().convert(constraintViolations);
-            throw new ApplicationException(messages);
+        final Set<ConstraintViolation<Object>> constraintViolations = new HashSet<ConstraintViolation<Object>>();
+        ParsedNumber.openScope();
+        try {
+            for (String propertyName : propertyNames) {
+                constraintViolations.addAll(validator.validateProperty(bean, propertyName));
+            }
+        } finally {
+            ParsedNumber.closeScope();
         }
+        return toResult(constraintViolations);
+    }
 
+    /**
+     * 指定されたBeanオブジェクトに対して、指定したグループを使用してBean Validationを行い、結果を返す。
+     * <p/>
+     * {@link #validateWithGroup(Object, Class[])}と異なり、バリデーションエラーが発生しても例外は送出しない。
+     *
+     * @param bean Bean Validation対象のオブジェクト
+     * @param groups Bean Validationのグループ
+     * @return バリデーション結果
+     */
+    @Published
+    public static ValidationResult tryValidateWithGroup(Object bean, Class<?>... groups) {
+        ParsedNumber.openScope();
+        try {
+            return toResult(getValidator().validate(bean, groups));
+        } finally {
+            ParsedNumber.closeScope();
+        }
+    }
+
+    /**
+     * 指定されたBeanオブジェクトのプロパティに対してBean Validationを行い、結果を返す。
+     * <p/>
+     * {@link #validateProperty(Object, String, Class[])}と異なり、バリデーションエラーが発生しても例外は送出しない。
+     *
+     * @param bean Bean Validation対象のオブジェクト
+     * @param propertyName Bean Validation対象のプロパティ名
+     * @param groups Bean Validationのグループ
+     * @return バリデーション結果
+     */
+    @Published
+    public static ValidationResult tryValidateProperty(Object bean, String propertyName, Class<?>... groups) {
+        ParsedNumber.openScope();
+        try {
+            return toResult(getValidator().validateProperty(bean, propertyName, groups));
+        } finally {
+            ParsedNumber.closeScope();
+        }
+    }
+
+    /**
+     * 指定された複数のBeanオブジェクトに対して、{@link ExecutorService}を使用して並列にBean Validationを行う。
+     * <p/>
+     * 1タスクあたりの要素数は256となる。詳細は{@link #validateAll(Iterable, ExecutorService, int)}を参照。
+     *
+     * @param beans Bean Validation対象のオブジェクト
+     * @param executor バリデーションを実行する{@link ExecutorService}
+     * @return バリデーションエラーとなった要素のインデックスと、その要素のメッセージ
+     */
+    @Published
+    public static Map<Integer, List<Message>> validateAll(Iterable<?> beans, ExecutorService executor) {
+        return validateAll(beans, executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 指定された複数のBeanオブジェクトに対して、{@link ExecutorService}を使用して並列にBean Validationを行う。
+     * <p/>
+     * {@code beans}を{@code chunkSize}件ずつのタスクに分割して{@code executor}に投入し、全タスクの完了を待って結果を返す。
+     * 各タスクでは、呼び出し元スレッドの{@link ThreadContext#getLanguage()}を引き継いでバリデーションを行うため、
+     * メッセージは呼び出し元スレッドの言語で構築される。
+     * <p/>
+     * 戻り値には、バリデーションエラーとなった要素のみが、{@code beans}内のインデックスの昇順で格納される。
+     * 全ての要素がバリデーションエラーとならなかった場合は空の{@link Map}を返す。
+     * <p/>
+     * {@code executor}のライフサイクル(終了処理など)は、呼び出し元で管理すること。
+     *
+     * @param beans Bean Validation対象のオブジェクト
+     * @param executor バリデーションを実行する{@link ExecutorService}
+     * @param chunkSize 1タスクが担当する要素数
+     * @return バリデーションエラーとなった要素のインデックスと、その要素のメッセージ
+     * @throws IllegalArgumentException {@code chunkSize}が1未満の場合
+     * @throws IllegalStateException 結果の待機中に割り込まれた場合
+     */
+    @Published
+    public static Map<Integer, List<Message>> validateAll(Iterable<?> beans, ExecutorService executor, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0. chunkSize=[" + chunkSize + "]");
+        }
+        final Validator validator = getValidator();
+        final Locale language = ThreadContext.getLanguage();
+        final List<Future<Map<Integer, List<Message>>>> futures = new ArrayList<Future<Map<Integer, List<Message>>>>();
+        try {
+            int offset = 0;
+            List<Object> chunk = new ArrayList<Object>(chunkSize);
+            for (Object bean : beans) {
+                chunk.add(bean);
+                if (chunk.size() == chunkSize) {
+                    futures.add(executor.submit(new ChunkValidationTask(validator, language, offset, chunk)));
+                    offset += chunkSize;
+                    chunk = new ArrayList<Object>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                futures.add(executor.submit(new ChunkValidationTask(validator, language, offset, chunk)));
+            }
+
+            final Map<Integer, List<Message>> result = new TreeMap<Integer, List<Message>>();
+            for (Future<Map<Integer, List<Message>>> future : futures) {
+                result.putAll(future.get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for bulk validation.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("bulk validation failed.", cause);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Bean Validationの結果を{@link ValidationResult}に変換する。
+     *
+     * @param constraintViolations Bean Validationの結果
+     * @return バリデーション結果
+     */
+    private static ValidationResult toResult(Set<ConstraintViolation<Object>> constraintViolations) {
+        if (constraintViolations.isEmpty()) {
+            return ValidationResult.valid();
+        }
+        final List<Message> messages = CONVERTER_FACTORY.create().convert(constraintViolations);
+        return ValidationResult.of(messages);
+    }
+
+    /**
+     * 一括バリデーションで、分割した要素をバリデーションするタスク。
+     */
+    private static final class ChunkValidationTask implements Callable<Map<Integer, List<Message>>> {
+
+        /** {@link Validator} */
+        private final Validator validator;
+
+        /** 呼び出し元スレッドの言語 */
+        private final Locale language;
+
+        /** 先頭要素のインデックス */
+        private final int offset;
+
+        /** バリデーション対象の要素 */
+        private final List<Object> beans;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param validator {@link Validator}
+         * @param language 呼び出し元スレッドの言語
+         * @param offset 先頭要素のインデックス
+         * @param beans バリデーション対象の要素
+         */
+        ChunkValidationTask(Validator validator, Locale language, int offset, List<Object> beans) {
+            this.validator = validator;
+            this.language = language;
+            this.offset = offset;
+            this.beans = beans;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Map<Integer, List<Message>> call() {
+            final Locale original = ThreadContext.getLanguage();
+            ThreadContext.setLanguage(language);
+            ParsedNumber.openScope();
+            try {
+                final Map<Integer, List<Message>> result = new TreeMap<Integer, List<Message>>();
+                for (int i = 0; i < beans.size(); i++) {
+                    final Set<ConstraintViolation<Object>> constraintViolations = validator.validate(beans.get(i));
+                    if (!constraintViolations.isEmpty()) {
+                        result.put(offset + i, CONVERTER_FACTORY.create().convert(constraintViolations));
+                    }
+                }
+                return result;
+            } finally {
+                ParsedNumber.closeScope();
+                ThreadContext.setLanguage(original);
+            }
+        }
+    }
+
+    /**
+     * {@link ValidatorFactoryBuilder}から解決した{@link ValidatorFactory}と{@link Validator}を保持するクラス。
+     * <p/>
+     * 保持する{@link Validator}はスレッドセーフであるため、複数スレッドから共有して使用する。
+     */
+    static final class ValidationPipeline {
+
+        /** 解決元の{@link ValidatorFactoryBuilder} */
+        private final ValidatorFactoryBuilder builder;
+
+        /** {@link ValidatorFactory} */
+        final ValidatorFactory validatorFactory;
+
+        /** {@link Validator} */
+        final Validator validator;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param builder 解決元の{@link ValidatorFactoryBuilder}
+         */
+        private ValidationPipeline(ValidatorFactoryBuilder builder) {
+            this.builder = builder;
+            validatorFactory = builder.buildValidatorFactory();
+            validator = validatorFactory.getValidator();
+        }
     }
 
     /** デフォルトの{@link ValidatorFactoryBuilder}実装。 */
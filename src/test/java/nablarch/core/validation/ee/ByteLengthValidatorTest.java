@@ -0,0 +1,106 @@
+package nablarch.core.validation.ee;
+
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.nio.charset.Charset;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * {@link ByteLength.ByteLengthValidator}のテスト。
+ */
+public class ByteLengthValidatorTest extends BeanValidationTestCase {
+
+    private static class ByteLengthBean {
+        @ByteLength(max = 6)
+        String utf8Max;
+
+        @ByteLength(min = 4, max = 6, charset = "Windows-31J")
+        String sjisMinMax;
+
+        @ByteLength(min = 3)
+        String minOnly;
+
+        @ByteLength(min = 4, max = 4, charset = "Windows-31J")
+        String fixed;
+
+        @ByteLength(min = 100, charset = "Windows-31J")
+        String sjisMinOnly;
+
+        @ByteLength(max = 2, message = "2バイトまでです。")
+        StringBuilder withMessage;
+    }
+
+    /** バイト長を判定する文字列 */
+    private static final String[] VALUES = {
+            "a", "abc", "abcdef", "abcdefg", "あ", "あい", "あいう", "aあ", "ｱｲｳｴｵｶｷ", "é", "éé", "ééé",
+            "𩸽", "a𩸽", "𩸽𩸽", "\uD867", "\uDE3Da", "\uD867\uD867\uD867", "①②③", "髙", "\u0000\u0000"
+    };
+
+    /** 未入力の場合は、バリデーションエラーとならないこと。 */
+    @Test
+    public void testEmpty() {
+        ByteLengthBean bean = new ByteLengthBean();
+        assertThat(validator.validate(bean), is(empty()));
+        bean.utf8Max = "";
+        bean.sjisMinMax = "";
+        assertThat(validator.validate(bean), is(empty()));
+    }
+
+    /** 判定結果が{@link String#getBytes(Charset)}のバイト長と同じになること。 */
+    @Test
+    public void testSameAsGetBytes() {
+        for (String value : VALUES) {
+            int utf8 = value.getBytes(Charset.forName("UTF-8")).length;
+            assertThat("UTF-8:" + value, validator.validateValue(ByteLengthBean.class, "utf8Max", value).isEmpty(),
+                    is(utf8 <= 6));
+            int sjis = value.getBytes(Charset.forName("Windows-31J")).length;
+            assertThat("Windows-31J:" + value, validator.validateValue(ByteLengthBean.class, "sjisMinMax", value).isEmpty(),
+                    is(4 <= sjis && sjis <= 6));
+        }
+    }
+
+    /** 長い文字列でも、エンコード用のバッファを超えて正しくバイト長が数えられること。 */
+    @Test
+    public void testLongValue() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            value.append('あ');
+        }
+        assertThat(validator.validateValue(ByteLengthBean.class, "minOnly", value.toString()), is(empty()));
+        assertThat(validator.validateValue(ByteLengthBean.class, "sjisMinMax", value.toString()), hasSize(1));
+        assertThat(validator.validateValue(ByteLengthBean.class, "sjisMinOnly", value.toString()), is(empty()));
+        assertThat(validator.validateValue(ByteLengthBean.class, "sjisMinOnly", value.substring(0, 50)), is(empty()));
+        assertThat(validator.validateValue(ByteLengthBean.class, "sjisMinOnly", value.substring(0, 49)), hasSize(1));
+    }
+
+    /** メッセージが指定されていない場合は、指定内容に応じたデフォルトのメッセージとなること。 */
+    @Test
+    public void testDefaultMessage() {
+        assertMessage("utf8Max", "abcdefg", "6バイト以内で入力してください。");
+        assertMessage("sjisMinMax", "あ", "4バイト以上6バイト以内で入力してください。");
+        assertMessage("minOnly", "ab", "3バイト以上で入力してください。");
+        assertMessage("fixed", "あいう", "4バイトで入力してください。");
+    }
+
+    /** メッセージが指定された場合は、そのメッセージとなること。 */
+    @Test
+    public void testSpecifyMessage() {
+        ByteLengthBean bean = new ByteLengthBean();
+        bean.withMessage = new StringBuilder("あ");
+        Set<ConstraintViolation<ByteLengthBean>> violations = validator.validate(bean);
+        assertThat(violations, hasSize(1));
+        assertThat(violations.iterator().next().getMessage(), is("2バイトまでです。"));
+    }
+
+    private void assertMessage(String property, String value, String message) {
+        Set<ConstraintViolation<ByteLengthBean>> violations = validator.validateValue(ByteLengthBean.class, property, value);
+        assertThat(violations, hasSize(1));
+        assertThat(violations.iterator().next().getMessage(), is(message));
+    }
+}
@@ -0,0 +1,262 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.validation.validator.unicode.CharsetDef;
+import nablarch.core.validation.validator.unicode.CharsetDefValidationUtil;
+import nablarch.core.validation.validator.unicode.CompositeCharsetDef;
+import nablarch.core.validation.validator.unicode.LiteralCharsetDef;
+import nablarch.core.validation.validator.unicode.RangedCharsetDef;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * {@link CompiledCharsetDef}のテスト。
+ */
+public class CompiledCharsetDefTest {
+
+    @After
+    public void tearDown() {
+        SystemRepository.clear();
+    }
+
+    /** テスト用の許容文字集合定義を生成する。 */
+    private static CharsetDef createCharsetDef() {
+        RangedCharsetDef upper = new RangedCharsetDef();
+        upper.setStartCodePoint("U+0041");
+        upper.setEndCodePoint("U+005A");
+
+        RangedCharsetDef supplementary = new RangedCharsetDef();
+        supplementary.setStartCodePoint("U+20000");
+        supplementary.setEndCodePoint("U+2000F");
+
+        LiteralCharsetDef literal = new LiteralCharsetDef();
+        literal.setAllowedCharacters("あいう𩸽￿");
+
+        CompositeCharsetDef composite = new CompositeCharsetDef();
+        composite.setCharsetDefList(Arrays.asList(upper, supplementary, literal));
+        return composite;
+    }
+
+    /** 全てのコードポイントについて、元の許容文字集合定義と同じ判定結果となること。 */
+    @Test
+    public void testContains() {
+        CharsetDef charsetDef = createCharsetDef();
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(charsetDef);
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            if (sut.contains(codePoint) != charsetDef.contains(codePoint)) {
+                throw new AssertionError("code point=" + Integer.toHexString(codePoint));
+            }
+        }
+    }
+
+    /** 文字列の判定結果が{@link CharsetDefValidationUtil}と同じになること。 */
+    @Test
+    public void testIsValid() {
+        CharsetDef charsetDef = createCharsetDef();
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(charsetDef);
+        String[] values = {
+                "", "ABC", "abc", "あいう", "AあB", "A\r\nB", "A\nB", "A\rB",
+                "𩸽", "A𩸽B", "𠀀", "𠀐",
+                "A\uD867", "\uD867A", "\uDE3D", "A\uDE3DB", "￿", "\uD867𩸽",
+                "ABCD", "ABCDEFGH", "ABCDEFGHI", "ABCDaEFG", "ABCDEFG\r", "AB\nCDEFGHI",
+                "ABCDEあ", "あABCDEFGH", "ABCD\u0080", "ABCDEFG\u007F", "@ABC[", "ABC\uD867\n"
+        };
+        boolean[] flags = {true, false};
+        for (String value : values) {
+            for (boolean allowLineSeparator : flags) {
+                for (boolean allowSurrogatePair : flags) {
+                    assertThat(value + ',' + allowLineSeparator + ',' + allowSurrogatePair,
+                            sut.isValid(value, allowLineSeparator, allowSurrogatePair),
+                            is(CharsetDefValidationUtil.isValid(charsetDef, value, allowLineSeparator, allowSurrogatePair)));
+                }
+            }
+        }
+    }
+
+    /** 単独の上位サロゲートを許容する場合も、次の文字が判定され{@link CharsetDefValidationUtil}と同じ結果になること。 */
+    @Test
+    public void testIsValidLoneHighSurrogate() {
+        RangedCharsetDef upper = new RangedCharsetDef();
+        upper.setStartCodePoint("U+0041");
+        upper.setEndCodePoint("U+005A");
+
+        RangedCharsetDef highSurrogate = new RangedCharsetDef();
+        highSurrogate.setStartCodePoint("U+D800");
+        highSurrogate.setEndCodePoint("U+DBFF");
+
+        CompositeCharsetDef charsetDef = new CompositeCharsetDef();
+        charsetDef.setCharsetDefList(Arrays.<CharsetDef>asList(upper, highSurrogate));
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(charsetDef);
+
+        String[] values = {"\uD842a", "\uD842あ", "\uD842A", "A\uD842\uD842a", "\uD842"};
+        boolean[] flags = {true, false};
+        for (String value : values) {
+            for (boolean allowLineSeparator : flags) {
+                assertThat(value + ',' + allowLineSeparator,
+                        sut.isValid(value, allowLineSeparator, true),
+                        is(CharsetDefValidationUtil.isValid(charsetDef, value, allowLineSeparator, true)));
+            }
+        }
+        assertThat(sut.isValid("\uD842a", false, true), is(false));
+        assertThat(sut.isValid("\uD842あ", false, true), is(false));
+    }
+
+    /** {@link java.io.Reader}から読み込んだ場合も、文字列の場合と同じ判定結果となること。 */
+    @Test
+    public void testIsValidReader() throws Exception {
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(createCharsetDef());
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 8191; i++) {
+            longValue.append('A');
+        }
+        String[] values = {
+                "", "ABC", "abc", "A𠀀B", "A\uD867", "\uD867A", "\uD867\uD867𠀀", "A\r\nB",
+                longValue + "𠀀B",
+                longValue + "\uD867",
+                longValue + "A𠀀" + longValue + "a"
+        };
+        boolean[] flags = {true, false};
+        for (String value : values) {
+            for (boolean allowLineSeparator : flags) {
+                for (boolean allowSurrogatePair : flags) {
+                    boolean expected = sut.isValid(value, allowLineSeparator, allowSurrogatePair);
+                    assertThat(sut.isValid(new StringReader(value), allowLineSeparator, allowSurrogatePair), is(expected));
+                    assertThat(sut.isValid(new ChunkedReader(value, 3), allowLineSeparator, allowSurrogatePair), is(expected));
+                }
+            }
+        }
+    }
+
+    /** 指定された文字数ずつしか読み込めない{@link java.io.Reader} */
+    private static class ChunkedReader extends StringReader {
+
+        private final int chunkSize;
+
+        ChunkedReader(String value, int chunkSize) {
+            super(value);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, chunkSize));
+        }
+    }
+
+    /** エンコードされたバイト列の判定結果が、文字列に変換した場合と同じになること。 */
+    @Test
+    public void testIsValidBytes() {
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(createCharsetDef());
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 8191; i++) {
+            longValue.append('A');
+        }
+        String[] values = {
+                "", "ABC", "abc", "あいう", "AあB", "A\r\nB", "A\nB", "𩸽", "A𩸽B", "𠀀", "𠀐", "￿", "\u00C0",
+                "ABCDEFGH", "ABCDaEFG", "@ABC[", longValue + "𠀀B", longValue + "a"
+        };
+        Charset[] charsets = {
+                Charset.forName("UTF-8"), Charset.forName("US-ASCII"), Charset.forName("ISO-8859-1"),
+                Charset.forName("Windows-31J"), Charset.forName("UTF-16BE")
+        };
+        boolean[] flags = {true, false};
+        for (Charset charset : charsets) {
+            for (String value : values) {
+                byte[] bytes = value.getBytes(charset);
+                if (!new String(bytes, charset).equals(value)) {
+                    // 文字コードで表現できない文字列は対象外
+                    continue;
+                }
+                for (boolean allowLineSeparator : flags) {
+                    for (boolean allowSurrogatePair : flags) {
+                        assertThat(charset + "," + value + ',' + allowLineSeparator + ',' + allowSurrogatePair,
+                                sut.isValid(ByteBuffer.wrap(bytes), charset, allowLineSeparator, allowSurrogatePair),
+                                is(sut.isValid(value, allowLineSeparator, allowSurrogatePair)));
+                    }
+                }
+            }
+        }
+    }
+
+    /** 文字コードとして不正なバイト列は許容されないこと。 */
+    @Test
+    public void testIsValidMalformedBytes() {
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(createCharsetDef());
+        Charset utf8 = Charset.forName("UTF-8");
+        // 冗長なエンコード
+        assertThat(sut.isValid(bytes(0x41, 0xC1, 0x81), utf8, true, true), is(false));
+        assertThat(sut.isValid(bytes(0xE0, 0x81, 0x81), utf8, true, true), is(false));
+        // サロゲート領域
+        assertThat(sut.isValid(bytes(0xED, 0xA1, 0x9D), utf8, true, true), is(false));
+        // 後続バイトの不足
+        assertThat(sut.isValid(bytes(0x41, 0xE3, 0x81), utf8, true, true), is(false));
+        assertThat(sut.isValid(bytes(0xF0, 0xA0, 0x80, 0x41), utf8, true, true), is(false));
+        // 範囲外
+        assertThat(sut.isValid(bytes(0xF4, 0x90, 0x80, 0x80), utf8, true, true), is(false));
+
+        assertThat(sut.isValid(bytes(0x41, 0x80), Charset.forName("US-ASCII"), true, true), is(false));
+        assertThat(sut.isValid(bytes(0x82, 0xA0, 0x82), Charset.forName("Windows-31J"), true, true), is(false));
+    }
+
+    /** 文字に変換して判定する文字コードで、判定を繰り返しても前回の判定結果の影響を受けないこと。 */
+    @Test
+    public void testIsValidBytesRepeatedly() {
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(createCharsetDef());
+        Charset sjis = Charset.forName("Windows-31J");
+        Charset utf16 = Charset.forName("UTF-16");
+        for (int i = 0; i < 3; i++) {
+            assertThat(sut.isValid(bytes(0x82), sjis, true, true), is(false));
+            assertThat(sut.isValid(ByteBuffer.wrap("あ".getBytes(sjis)), sjis, true, true), is(true));
+            // バイトオーダーマークが異なるバイト列
+            assertThat(sut.isValid(bytes(0xFF, 0xFE, 0x42, 0x30), utf16, true, true), is(true));
+            assertThat(sut.isValid(bytes(0xFE, 0xFF, 0x30, 0x42), utf16, true, true), is(true));
+            assertThat(sut.isValid(ByteBuffer.wrap("𩸽".getBytes(utf16)), utf16, true, true), is(true));
+            assertThat(sut.isValid(ByteBuffer.wrap("𩸽".getBytes(utf16)), utf16, true, false), is(false));
+        }
+    }
+
+    /** バイト列の判定範囲がpositionからlimitまでであり、判定後もpositionが変わらないこと。 */
+    @Test
+    public void testIsValidByteBufferRange() {
+        CompiledCharsetDef sut = CompiledCharsetDef.compile(createCharsetDef());
+        for (String charsetName : new String[] {"UTF-8", "Windows-31J"}) {
+            Charset charset = Charset.forName(charsetName);
+            ByteBuffer buffer = ByteBuffer.wrap("aABCa".getBytes(charset), 1, 3);
+            assertThat(sut.isValid(buffer, charset, false, false), is(true));
+            assertThat(buffer.position(), is(1));
+            assertThat(buffer.limit(), is(4));
+        }
+    }
+
+    /** 指定された値からバイト列を生成する。 */
+    private static ByteBuffer bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    /** 同一の許容文字集合定義に対しては、展開済みのものが返されること。 */
+    @Test
+    public void testCompileCached() {
+        CharsetDef charsetDef = createCharsetDef();
+        assertThat(CompiledCharsetDef.compile(charsetDef), is(sameInstance(CompiledCharsetDef.compile(charsetDef))));
+    }
+
+    /** {@link SystemRepository}に登録されていない場合、例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookUpNotFound() {
+        CompiledCharsetDef.lookUp("notFound");
+    }
+}
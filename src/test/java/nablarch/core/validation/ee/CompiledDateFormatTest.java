@@ -0,0 +1,176 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.util.DateUtil;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * {@link CompiledDateFormat}のテスト。
+ */
+public class CompiledDateFormatTest {
+
+    /** テスト前のデフォルトロケール */
+    private final Locale defaultLocale = Locale.getDefault();
+
+    /** テスト前のデフォルトタイムゾーン */
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    /** 判定対象の日付文字列 */
+    private static final String[] DATES = {
+            "20230511", "20230229", "20240229", "21000229", "20000229", "20231301", "20230001", "20230100", "20230431",
+            "15821004", "15821010", "15821015", "15000229", "00000101", "00010101", "99991231", "100000101",
+            "2023/05/11", "2023/5/11", "10000/01/01", "2023-05-11", "２０２３０５１１", "2023051", "202305111", "abcdefgh",
+            "20230511123456", "20230511240000", "20230511235959", "20230511236000", "20230511235960",
+            "2023/05/11 12:34:56", "2023/05/11 24:00:00", "2023/03/12 02:30:00", "2023/11/05 01:30:00",
+            "2023/03/26 02:30:00", "123456", "235959", "240000", "0511", "0229", "1231", "20230511123456789",
+            "20230511123456999", "2023-05-11T12:34:56.789", "H35.05.11", "2566/05/11", "0035/05/11"
+    };
+
+    /** 日付書式 */
+    private static final String[] PATTERNS = {
+            "yyyyMMdd", "yyyy/MM/dd", "yyyy-MM-dd", "yyyyMMddHHmmss", "yyyy/MM/dd HH:mm:ss", "HHmmss", "MMdd",
+            "yyyyMMddHHmmssSSS", "yyyy-MM-dd'T'HH:mm:ss.SSS", "yyMMdd", "yyyy/M/d", "Gyy.MM.dd", "yyyyMMddhhmmss"
+    };
+
+    /** 判定結果が{@link DateUtil#getParsedDate(String, String)}と同じになること。 */
+    @Test
+    public void testIsValid() {
+        assertSameAsDateUtil(DATES);
+    }
+
+    /** 1583年から2100年までの全ての日付について、判定結果が{@link DateUtil#getParsedDate(String, String)}と同じになること。 */
+    @Test
+    public void testIsValidAllDays() {
+        CompiledDateFormat sut = CompiledDateFormat.compile("yyyyMMdd");
+        for (int year = 1583; year <= 2100; year++) {
+            for (int month = 0; month <= 13; month++) {
+                for (int day = 0; day <= 32; day++) {
+                    String date = String.format("%04d%02d%02d", year, month, day);
+                    assertThat(date, sut.isValid(date), is(DateUtil.getParsedDate(date, "yyyyMMdd") != null));
+                }
+            }
+        }
+    }
+
+    /** 夏時間を採用しているタイムゾーンでも、判定結果が{@link DateUtil#getParsedDate(String, String)}と同じになること。 */
+    @Test
+    public void testDaylightSavingTime() {
+        for (String id : new String[] {"America/New_York", "Europe/London", "America/Sao_Paulo", "Asia/Tokyo"}) {
+            TimeZone.setDefault(TimeZone.getTimeZone(id));
+            assertSameAsDateUtil(DATES);
+        }
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        CompiledDateFormat sut = CompiledDateFormat.compile("yyyy/MM/dd HH:mm:ss");
+        assertThat(sut.isValid("2023/03/12 02:30:00"), is(false));
+        assertThat(sut.isValid("2023/11/05 01:30:00"), is(true));
+    }
+
+    /** グレゴリオ暦以外のカレンダーを使用するロケールでも、判定結果が{@link DateUtil#getParsedDate(String, String)}と同じになること。 */
+    @Test
+    public void testLocale() {
+        for (Locale locale : new Locale[] {Locale.JAPAN, new Locale("ja", "JP", "JP"), new Locale("th", "TH"), new Locale("th", "TH", "TH")}) {
+            Locale.setDefault(locale);
+            assertSameAsDateUtil(DATES);
+        }
+    }
+
+    /** 書式化用のデフォルトロケールが異なる場合も、そのロケールで判定されること。 */
+    @Test
+    public void testFormatLocale() throws Exception {
+        Locale.setDefault(Locale.US);
+        for (Locale locale : new Locale[] {Locale.FRANCE, new Locale("ja", "JP", "JP"), new Locale("th", "TH", "TH")}) {
+            setDefaultFormatLocale(locale);
+            assertSameAsDateUtil(DATES);
+        }
+
+        setDefaultFormatLocale(Locale.FRANCE);
+        CompiledDateFormat sut = CompiledDateFormat.compile("yyyy MMM dd");
+        assertThat(sut.isValid("2023 mai 11"), is(true));
+        assertThat(sut.isValid("2023 May 11"), is(false));
+
+        setDefaultFormatLocale(new Locale("th", "TH", "TH"));
+        sut = CompiledDateFormat.compile("yyyy/MM/dd");
+        assertThat(sut.isValid("2566/05/11"), is(DateUtil.getParsedDate("2566/05/11", "yyyy/MM/dd") != null));
+        assertThat(sut.isValid("2023/02/29"), is(DateUtil.getParsedDate("2023/02/29", "yyyy/MM/dd") != null));
+    }
+
+    /**
+     * 書式化用のデフォルトロケールのみを変更する。
+     * <p/>
+     * 書式化用のデフォルトロケールが存在しない(Java 7より前の)場合は、テストを実行しない。
+     *
+     * @param locale ロケール
+     */
+    private static void setDefaultFormatLocale(Locale locale) throws Exception {
+        Class<?> category;
+        try {
+            category = Class.forName("java.util.Locale$Category");
+        } catch (ClassNotFoundException e) {
+            Assume.assumeTrue(false);
+            return;
+        }
+        Method setDefault = Locale.class.getMethod("setDefault", category, Locale.class);
+        setDefault.invoke(null, category.getField("FORMAT").get(null), locale);
+    }
+
+    /** 日付が変わる時刻に夏時間に切り替わるタイムゾーンで、存在しない日付が書式に一致しないと判定されること。 */
+    @Test
+    public void testNonExistentMidnight() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+        List<String> dates = new ArrayList<String>();
+        Calendar calendar = new GregorianCalendar(2010, Calendar.JANUARY, 1);
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
+        for (int i = 0; i < 3 * 366; i++) {
+            dates.add(format.format(calendar.getTime()));
+            calendar.add(Calendar.DATE, 1);
+        }
+        assertSameAsDateUtil(dates.toArray(new String[dates.size()]));
+    }
+
+    /** 同じ日付書式に対しては、同じインスタンスが返されること。 */
+    @Test
+    public void testGetInstance() {
+        assertThat(CompiledDateFormat.getInstance("yyyy.MM.dd"), is(sameInstance(CompiledDateFormat.getInstance("yyyy.MM.dd"))));
+    }
+
+    /** 不正な日付書式の場合は、例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetInstanceInvalidPattern() {
+        CompiledDateFormat.getInstance("ABCD");
+    }
+
+    /**
+     * 全ての書式と日付文字列の組み合わせで、判定結果が{@link DateUtil#getParsedDate(String, String)}と同じになることを検証する。
+     *
+     * @param dates 日付文字列
+     */
+    private static void assertSameAsDateUtil(String[] dates) {
+        for (String pattern : PATTERNS) {
+            CompiledDateFormat sut = CompiledDateFormat.compile(pattern);
+            for (String date : dates) {
+                assertThat(Locale.getDefault() + "," + TimeZone.getDefault().getID() + "," + pattern + "," + date,
+                        sut.isValid(date), is(DateUtil.getParsedDate(date, pattern) != null));
+            }
+        }
+    }
+}
@@ -3,11 +3,16 @@ package nablarch.core.validation.ee;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.Payload;
 
 import org.hamcrest.collection.IsCollectionWithSize;
 
@@ -451,6 +456,71 @@ public class DigitsTest extends BeanValidationTestCase {
         assertThat(v.getMessage(), is("正しい値をいれてください。"));
     }
 
+    /**
+     * 整数値と数値文字列の桁数が、{@link BigDecimal}に変換した場合と同じく判定されること。
+     */
+    @Test
+    public void testDigitsWithoutBigDecimal() {
+        List<Long> longValues = new ArrayList<Long>(Arrays.asList(0L, Long.MAX_VALUE, Long.MIN_VALUE));
+        long power = 1;
+        for (int i = 0; i <= 18; i++) {
+            power = i == 0 ? 1 : power * 10;
+            longValues.addAll(Arrays.asList(power, power - 1, power + 1, -power, -power + 1, -power - 1));
+        }
+        String[] stringValues = {
+                "0", "-0", "0.0", "0.05", ".5", "007", "12.340", "-999.9999", "1234567890123456789", "0.0000000000000000000001"
+        };
+        for (int integer = 0; integer <= 20; integer++) {
+            for (int fraction = 0; fraction <= 5; fraction++) {
+                Digits.DigitsValidator sut = new Digits.DigitsValidator();
+                sut.initialize(digits(integer, fraction));
+                for (long value : longValues) {
+                    assertThat(integer + "," + value, sut.isValid(value), is(sut.isValid(BigDecimal.valueOf(value))));
+                }
+                for (String value : stringValues) {
+                    assertThat(integer + "," + fraction + "," + value,
+                            sut.isValid(ParsedNumber.parse(value)), is(sut.isValid(new BigDecimal(value))));
+                }
+            }
+        }
+    }
+
+    /** {@link Digits}を生成する。 */
+    private static Digits digits(final int integer, final int fraction) {
+        return new Digits() {
+            @Override
+            public Class<?>[] groups() {
+                return new Class<?>[0];
+            }
+
+            @Override
+            public String message() {
+                return "";
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Class<? extends Payload>[] payload() {
+                return new Class[0];
+            }
+
+            @Override
+            public int integer() {
+                return integer;
+            }
+
+            @Override
+            public int fraction() {
+                return fraction;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Digits.class;
+            }
+        };
+    }
+
     private interface NormalUser {}
     private interface PremiumUser {}
 
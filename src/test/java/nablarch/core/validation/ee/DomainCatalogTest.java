@@ -0,0 +1,96 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.validation.ee.sample.BeanDomain;
+import nablarch.core.validation.ee.sample.BeanDomainManager;
+import nablarch.core.validation.ee.sample.form.SampleForm;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link DomainCatalog}のテスト。
+ */
+public class DomainCatalogTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource("nablarch/core/validation/ee/beanValidation.xml");
+
+    @Before
+    public void setUp() {
+        repositoryResource.addComponent("domainManager", new BeanDomainManager());
+    }
+
+    /** 初期化時にドメイン定義Beanのメタデータが生成されること。 */
+    @Test
+    public void testInitialize() {
+        DomainCatalog sut = new DomainCatalog();
+        assertThat(sut.getWarmedDomainBeans().isEmpty(), is(true));
+        sut.initialize();
+
+        assertThat(sut.getWarmedDomainBeans(), contains((Object) BeanDomain.class));
+    }
+
+    /** デフォルトのドメイン定義Beanを生成対象としない場合、メタデータが生成されないこと。 */
+    @Test
+    public void testInitializeWithoutWarmUp() {
+        DomainCatalog sut = new DomainCatalog();
+        sut.setWarmUpDefaultDomainBean(false);
+        sut.initialize();
+
+        assertThat(sut.getWarmedDomainBeans().isEmpty(), is(true));
+    }
+
+    /** 初期化した場合も、ドメインバリデーションの結果が変わらないこと。 */
+    @Test
+    public void testValidateAfterInitialize() {
+        DomainCatalog sut = new DomainCatalog();
+        sut.initialize();
+
+        SampleForm form = new SampleForm();
+        form.field = "1234";
+        assertThat(ValidatorUtil.getValidator().validate(form).size(), is(1));
+    }
+
+    /** 存在しないドメイン名が指定されている場合、例外が送出されること。 */
+    @Test
+    public void testUnknownDomain() {
+        DomainCatalog sut = new DomainCatalog();
+        sut.setPackageNames(Arrays.asList("nablarch.core.validation.ee.sample"));
+        try {
+            sut.initialize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), containsString(
+                    "nablarch.core.validation.ee.sample.form.NotFoundDomainForm#notFound (domain=[notFound])"));
+            assertThat(e.getMessage(), containsString("domain beans=[nablarch.core.validation.ee.sample.BeanDomain]"));
+        }
+    }
+
+    /** 例外を送出しない設定の場合、存在しないドメイン名が指定されていても初期化できること。 */
+    @Test
+    public void testUnknownDomainNotFail() {
+        DomainCatalog sut = new DomainCatalog();
+        sut.setPackageNames(Arrays.asList("nablarch.core.validation.ee.sample"));
+        sut.setFailOnUnknownDomain(false);
+        sut.initialize();
+        assertThat(sut.getWarmedDomainBeans(), contains((Object) BeanDomain.class));
+    }
+
+    /** 存在しないドメイン名が指定されていない場合、例外が送出されないこと。 */
+    @Test
+    public void testNoUnknownDomain() {
+        DomainCatalog sut = new DomainCatalog();
+        sut.setPackageNames(Collections.singletonList("nablarch.core.validation.ee.sample.form.nothing"));
+        sut.initialize();
+    }
+}
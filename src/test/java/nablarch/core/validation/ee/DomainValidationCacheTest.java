@@ -0,0 +1,150 @@
+package nablarch.core.validation.ee;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+/**
+ * {@link DomainValidationCache}のテスト。
+ */
+public class DomainValidationCacheTest {
+
+    private static final List<String> VALID = Collections.emptyList();
+
+    private static final Locale JA = Locale.JAPANESE;
+
+    /** キャッシュしたバリデーション結果が取得でき、ヒット数とミス数が記録されること。 */
+    @Test
+    public void testGetAndPut() {
+        DomainValidationCache sut = new DomainValidationCache();
+        assertThat(sut.get("code", "01", JA), is(nullValue()));
+        sut.put("code", "01", JA, VALID);
+        assertThat(sut.get("code", "01", JA), is(sameInstance(VALID)));
+        assertThat(sut.get("code", "01", JA), is(sameInstance(VALID)));
+        assertThat(sut.get("name", "01", JA), is(nullValue()));
+        sut.put("code", null, JA, VALID);
+        assertThat(sut.get("code", null, JA), is(sameInstance(VALID)));
+
+        assertThat(sut.getHitCount("code"), is(3L));
+        assertThat(sut.getMissCount("code"), is(1L));
+        assertThat(sut.getHitCount("name"), is(0L));
+        assertThat(sut.getMissCount("name"), is(1L));
+        assertThat(sut.getMissCount("unknown"), is(0L));
+        assertThat(sut.getUsedDomainNames(), containsInAnyOrder("code", "name"));
+        assertThat(sut.size(), is(2));
+
+        sut.clear();
+        assertThat(sut.size(), is(0));
+        assertThat(sut.get("code", "01", JA), is(nullValue()));
+        assertThat(sut.getHitCount("code"), is(0L));
+    }
+
+    /** 言語が異なる場合、別のエントリとして扱われること。 */
+    @Test
+    public void testGetOtherLanguage() {
+        DomainValidationCache sut = new DomainValidationCache();
+        List<String> messages = Collections.singletonList("error");
+        sut.put("code", "01", JA, messages);
+        assertThat(sut.get("code", "01", JA), is(sameInstance(messages)));
+        assertThat(sut.get("code", "01", Locale.ENGLISH), is(nullValue()));
+
+        sut.put("code", "01", Locale.ENGLISH, VALID);
+        assertThat(sut.get("code", "01", Locale.ENGLISH), is(sameInstance(VALID)));
+        assertThat(sut.get("code", "01", JA), is(sameInstance(messages)));
+        assertThat(sut.size(), is(2));
+    }
+
+    /** エントリ数の上限を超えた場合、参照されていないエントリから削除されること。 */
+    @Test
+    public void testEviction() {
+        DomainValidationCache sut = new DomainValidationCache();
+        sut.setMaxEntries(3);
+        sut.put("code", "1", JA, VALID);
+        sut.put("code", "2", JA, VALID);
+        sut.put("code", "3", JA, VALID);
+        sut.get("code", "1", JA);
+
+        sut.put("code", "4", JA, VALID);
+        assertThat(sut.size(), is(3));
+        assertThat(sut.get("code", "1", JA), is(notNullValue()));
+        assertThat(sut.get("code", "2", JA), is(nullValue()));
+        assertThat(sut.get("code", "3", JA), is(notNullValue()));
+        assertThat(sut.get("code", "4", JA), is(notNullValue()));
+
+        for (int i = 0; i < 100; i++) {
+            sut.put("code", String.valueOf(i + 10), JA, VALID);
+            assertThat(sut.size(), is(3));
+        }
+    }
+
+    /** 変更されない型の値のみキャッシュ対象となること。 */
+    @Test
+    public void testIsCacheable() {
+        DomainValidationCache sut = new DomainValidationCache();
+        sut.setDomainNames(Arrays.asList("code"));
+        assertThat(sut.isCacheable("code", null), is(true));
+        assertThat(sut.isCacheable("code", "01"), is(true));
+        assertThat(sut.isCacheable("code", 1), is(true));
+        assertThat(sut.isCacheable("code", new BigDecimal("1.0")), is(true));
+        assertThat(sut.isCacheable("code", TimeUnit.SECONDS), is(true));
+        assertThat(sut.isCacheable("code", new Date()), is(false));
+        assertThat(sut.isCacheable("code", new StringBuilder("01")), is(false));
+        assertThat(sut.isCacheable("code", new String[] {"01"}), is(false));
+        assertThat(sut.isCacheable("name", "01"), is(false));
+    }
+
+    /** キャッシュ対象のドメイン名を設定しない場合、どのドメインもキャッシュ対象とならないこと。 */
+    @Test
+    public void testIsCacheableWithoutDomainNames() {
+        DomainValidationCache sut = new DomainValidationCache();
+        assertThat(sut.isCacheable("code", "01"), is(false));
+        assertThat(sut.isCacheable("code", null), is(false));
+    }
+
+    /** 長さが上限を超える文字列はキャッシュ対象とならないこと。 */
+    @Test
+    public void testIsCacheableMaxValueLength() {
+        DomainValidationCache sut = new DomainValidationCache();
+        sut.setDomainNames(Arrays.asList("code"));
+        assertThat(sut.isCacheable("code", repeat('a', 32)), is(true));
+        assertThat(sut.isCacheable("code", repeat('a', 33)), is(false));
+
+        sut.setMaxValueLength(2);
+        assertThat(sut.isCacheable("code", "01"), is(true));
+        assertThat(sut.isCacheable("code", "001"), is(false));
+        assertThat(sut.isCacheable("code", 100), is(true));
+    }
+
+    /** 文字列の長さの上限に0未満を設定した場合、例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxValueLength() {
+        new DomainValidationCache().setMaxValueLength(-1);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /** エントリ数の上限に1未満を設定した場合、例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxEntries() {
+        new DomainValidationCache().setMaxEntries(0);
+    }
+}
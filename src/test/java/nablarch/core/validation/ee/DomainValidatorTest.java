@@ -2,8 +2,11 @@ package nablarch.core.validation.ee;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
@@ -11,6 +14,7 @@ import javax.validation.constraints.NotNull;
 
 import org.junit.Test;
 
+import nablarch.core.repository.ObjectLoader;
 import nablarch.core.repository.SystemRepository;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -60,6 +64,35 @@ public class DomainValidatorTest extends BeanValidationTestCase {
     }
 
 
+    /** {@link DomainValidationCache}が登録されている場合、キャッシュしたバリデーション結果が使用されること。 */
+    @Test
+    public void testValidateWithCache() throws Exception {
+        prepareSystemRepository();
+        final DomainValidationCache cache = new DomainValidationCache();
+        cache.setDomainNames(Arrays.asList("name", "money"));
+        SystemRepository.load(new ObjectLoader() {
+            @Override
+            public Map<String, Object> load() {
+                return Collections.<String, Object>singletonMap("domainValidationCache", cache);
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            TestBean bean = new TestBean();
+            bean.name = "abcdef";
+            bean.balance = 1000;
+            List<ConstraintViolation<TestBean>> actual = sort(validator.validate(bean));
+            assertThat(actual.size(), is(3));
+            assertThat(actual.get(0).getMessage(), is("整数部は3桁以内で入力してください。"));
+            assertThat(actual.get(1).getMessage(), is("5文字以内で入力してください。"));
+            assertThat(actual.get(2).getMessage(), is("英大文字でないですよ。"));
+        }
+        assertThat(cache.getMissCount("name"), is(1L));
+        assertThat(cache.getHitCount("name"), is(2L));
+        assertThat(cache.getMissCount("money"), is(1L));
+        assertThat(cache.getHitCount("money"), is(2L));
+    }
+
     /** DomainManagerがコンポーネント定義されていない場合、例外が発生すること。 */
     @Test(expected = IllegalStateException.class)
     public void testDomainManagerNotFound() {
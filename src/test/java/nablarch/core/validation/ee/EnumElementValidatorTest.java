@@ -9,6 +9,7 @@ import org.junit.rules.ExpectedException;
 import javax.validation.ConstraintViolation;
 import javax.validation.ValidationException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Set;
 
 public class EnumElementValidatorTest extends BeanValidationTestCase {
@@ -112,6 +113,16 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         Assert.assertEquals("指定した列挙型class nablarch.core.validation.ee.EnumElementValidatorTest$DirectEnumのいずれの要素とも一致しません。", v.getMessage());
     }
 
+    @Test
+    public void 入力値が列挙型定数名のいずれかに大文字小文字混在で一致する場合は検証成功する() {
+        EnumBean bean = new EnumBean();
+        bean.enumNameString = "oFf";
+        bean.enumNameFullWidthString = "ｏｎ";
+
+        Set<ConstraintViolation<EnumBean>> violations = validator.validate(bean);
+
+        Assert.assertTrue(violations.isEmpty());
+    }
 
     @Test
     public void caseInsensitiveがfalseの時_入力値が列挙型定数名のいずれかに大文字小文字区別して一致する場合は検証成功する() {
@@ -247,6 +258,50 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         Assert.assertEquals("指定した列挙型class nablarch.core.validation.ee.EnumElementValidatorTest$WithValueNumberEnumのいずれの要素とも一致しません。", v.getMessage());
     }
 
+    @Test
+    public void 列挙型定数のNumber型フィールド値と入力値は数値として比較される() {
+        Object[] validValues = {
+                1, 1L, (short) 1, (byte) 1, new BigDecimal("1.00"), BigInteger.ONE, 1.0, "1", "+01", "1.000",
+                -5, new BigDecimal("-5"), "-5",
+                new BigDecimal("2.5"), new BigDecimal("2.50"), "2.50", 2.5, 2.5f,
+                new BigDecimal("0.5"), ".5", "+.50", "0.5", 0.5,
+                Long.MAX_VALUE, String.valueOf(Long.MAX_VALUE),
+                new BigInteger("100000000000000000000"), "100000000000000000000.0"
+        };
+        for (Object value : validValues) {
+            NumberBean bean = new NumberBean();
+            bean.value = value;
+            Assert.assertTrue(value + "(" + value.getClass() + ")", validator.validate(bean).isEmpty());
+        }
+
+        Object[] invalidValues = {
+                2, 2L, new BigDecimal("2.51"), "2.51", "1.", "-.5", ".", "1e0", "--1", "-", "１", "0x1",
+                Long.MIN_VALUE, "9223372036854775808", new BigInteger("100000000000000000001"), 1.5, Double.NaN
+        };
+        for (Object value : invalidValues) {
+            NumberBean bean = new NumberBean();
+            bean.value = value;
+            Assert.assertEquals(value + "(" + value.getClass() + ")", 1, validator.validate(bean).size());
+        }
+    }
+
+    @Test
+    public void 列挙型定数のフィールドにNumberとStringが混在する場合はequalsで比較される() {
+        Object[] validValues = {"01", 1, new BigDecimal("2.5")};
+        for (Object value : validValues) {
+            MixedBean bean = new MixedBean();
+            bean.value = value;
+            Assert.assertTrue(value + "(" + value.getClass() + ")", validator.validate(bean).isEmpty());
+        }
+
+        Object[] invalidValues = {"1", 1L, new BigDecimal("2.50"), "2.5", "02"};
+        for (Object value : invalidValues) {
+            MixedBean bean = new MixedBean();
+            bean.value = value;
+            Assert.assertEquals(value + "(" + value.getClass() + ")", 1, validator.validate(bean).size());
+        }
+    }
+
     @Test
     public void リストとグループが正しく動作する() {
         ListAndGroupsBean bean = new ListAndGroupsBean();
@@ -267,6 +322,11 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         OFF
     }
 
+    private enum FullWidthEnum {
+        ＯＮ,
+        ＯＦＦ
+    }
+
     private enum WithValueStringEnum implements EnumElement.WithValue<String> {
         ON("1"),
         OFF("0");
@@ -332,6 +392,26 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         }
     }
 
+    private enum WithValueMixedNumberEnum implements EnumElement.WithValue<Number> {
+        ONE(1),
+        MINUS_FIVE(-5L),
+        TWO_AND_A_HALF(new BigDecimal("2.5")),
+        HALF(new BigDecimal("0.5")),
+        MAX(Long.MAX_VALUE),
+        HUGE(new BigInteger("100000000000000000000"));
+
+        private final Number value;
+
+        WithValueMixedNumberEnum(Number value) {
+            this.value = value;
+        }
+
+        @Override
+        public Number getValue() {
+            return value;
+        }
+    }
+
     private enum WithValueObjectEnum implements EnumElement.WithValue<Object> {
         ON(new Object()),
         OFF(new Object());
@@ -348,6 +428,23 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         }
     }
 
+    private enum WithValueMixedEnum implements EnumElement.WithValue<Object> {
+        STRING("01"),
+        INTEGER(1),
+        DECIMAL(new BigDecimal("2.5"));
+
+        private final Object value;
+
+        WithValueMixedEnum(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+
     private interface Test1 {
     }
 
@@ -362,6 +459,9 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         @EnumElement(value = DirectEnum.class, caseSensitive = true)
         String enumNameCaseSensitiveString;
 
+        @EnumElement(FullWidthEnum.class)
+        String enumNameFullWidthString;
+
         @EnumElement(value = DirectEnum.class, message = "てすとめっせーじ")
         String enumNameStringWithMessage;
 
@@ -387,6 +487,16 @@ public class EnumElementValidatorTest extends BeanValidationTestCase {
         Integer invalidEnumValueInteger;
     }
 
+    private static class NumberBean {
+        @EnumElement(WithValueMixedNumberEnum.class)
+        Object value;
+    }
+
+    private static class MixedBean {
+        @EnumElement(WithValueMixedEnum.class)
+        Object value;
+    }
+
     private static class ErrorBean {
         @EnumElement(WithValueObjectEnum.class)
         Object invalidEnumValueObject;
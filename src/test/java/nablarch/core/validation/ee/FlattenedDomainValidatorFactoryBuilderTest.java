@@ -0,0 +1,122 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.validation.ee.sample.BeanDomain;
+import nablarch.core.validation.ee.sample.BeanDomainManager;
+import nablarch.core.validation.ee.sample.form.NotFoundDomainForm;
+import nablarch.core.validation.ee.sample.form.SampleForm;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+/**
+ * {@link FlattenedDomainValidatorFactoryBuilder}のテスト。
+ */
+public class FlattenedDomainValidatorFactoryBuilderTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource("nablarch/core/validation/ee/beanValidation.xml");
+
+    private ValidatorFactory factory;
+
+    @Before
+    public void setUp() {
+        repositoryResource.addComponent("domainManager", new BeanDomainManager());
+        FlattenedDomainValidatorFactoryBuilder builder = new FlattenedDomainValidatorFactoryBuilder();
+        builder.setPackageNames(Arrays.asList("nablarch.core.validation.ee.sample.form"));
+        factory = builder.buildValidatorFactory();
+    }
+
+    @After
+    public void tearDown() {
+        factory.close();
+    }
+
+    /** {@link Domain}がドメイン定義Beanのプロパティに設定された制約に展開されること。 */
+    @Test
+    public void testFlattened() {
+        Validator validator = factory.getValidator();
+        assertThat(getConstraintTypes(validator, SampleForm.class, "field"),
+                containsInAnyOrder(Required.class, Length.class, SystemChar.class));
+        assertThat(getConstraintTypes(validator, SampleForm.class, "property"),
+                containsInAnyOrder(Length.class, SystemChar.class));
+        assertThat(getConstraintTypes(validator, SampleForm.class, "grouped"),
+                containsInAnyOrder(Length.class, SystemChar.class));
+        for (ConstraintDescriptor<?> descriptor : validator.getConstraintsForClass(SampleForm.class)
+                                                           .getConstraintsForProperty("grouped")
+                                                           .getConstraintDescriptors()) {
+            assertThat(descriptor.getGroups(), is((Set) Collections.singleton(SampleForm.Group.class)));
+        }
+    }
+
+    /** ドメインが存在しない場合は、展開されないこと。 */
+    @Test
+    public void testNotFlattened() {
+        assertThat(getConstraintTypes(factory.getValidator(), NotFoundDomainForm.class, "notFound"),
+                is((Set) Collections.singleton(Domain.class)));
+    }
+
+    /** 展開した場合と{@link DomainValidator}を使用した場合で、同じバリデーション結果となること。 */
+    @Test
+    public void testValidate() {
+        SampleForm form = new SampleForm();
+        form.field = "abc";
+        form.grouped = "1234567890a";
+        form.property = "1234";
+        form.nested = new SampleForm();
+        form.nested.field = "12345";
+
+        assertThat(toStrings(factory.getValidator().validate(form)),
+                is(toStrings(ValidatorUtil.getValidator().validate(form))));
+        assertThat(toStrings(factory.getValidator().validate(form, SampleForm.Group.class)),
+                is(toStrings(ValidatorUtil.getValidator().validate(form, SampleForm.Group.class))));
+        assertThat(toStrings(factory.getValidator().validate(form)).size(), is(3));
+    }
+
+    /** 展開する{@link Domain}が存在しない場合、制約定義は生成されないこと。 */
+    @Test
+    public void testCreateMappingNoDomain() {
+        assertThat(FlattenedDomainValidatorFactoryBuilder.createMapping(
+                Collections.singletonMap("demoDomain", new DomainDefinition(BeanDomain.class, "demoDomain")),
+                Arrays.<Class<?>>asList(BeanDomain.class, String.class)), is(nullValue()));
+    }
+
+    /** プロパティに設定された制約のアノテーションの型を取得する。 */
+    private static Set<Class<? extends Annotation>> getConstraintTypes(Validator validator, Class<?> beanClass, String propertyName) {
+        Set<Class<? extends Annotation>> result = new HashSet<Class<? extends Annotation>>();
+        for (ConstraintDescriptor<?> descriptor : validator.getConstraintsForClass(beanClass)
+                                                           .getConstraintsForProperty(propertyName)
+                                                           .getConstraintDescriptors()) {
+            result.add(descriptor.getAnnotation().annotationType());
+        }
+        return result;
+    }
+
+    /** バリデーション結果をプロパティパスとメッセージの文字列に変換する。 */
+    private static <T> List<String> toStrings(Set<ConstraintViolation<T>> violations) {
+        List<String> result = new ArrayList<String>();
+        for (ConstraintViolation<T> violation : violations) {
+            result.add(violation.getPropertyPath() + ":" + violation.getMessage());
+        }
+        Collections.sort(result);
+        return result;
+    }
+}
@@ -227,4 +227,26 @@ public class LengthValidatorTest extends BeanValidationTestCase {
         Set<?> violationsForJustMin = validator.validateValue(SurrogatePair.class, "test", "1234\uD867\uDE3D");
         assertThat("Just min", violationsForJustMin, empty());
     }
-}
\ No newline at end of file
+
+    /**
+     * サロゲートペアやペアになっていないサロゲートを含む様々な長さの文字列で、
+     * コードポイント数による判定結果となること。
+     */
+    @Test
+    public void testValidateCodePointCount() {
+        String[] units = {"a", "\uD867\uDE3D", "\uD867", "\uDE3D"};
+        for (int length = 1; length <= 24; length++) {
+            for (int pattern = 0; pattern < units.length * units.length; pattern++) {
+                StringBuilder value = new StringBuilder();
+                for (int i = 0; value.length() < length; i++) {
+                    value.append(units[(i % 2 == 0 ? pattern / units.length : pattern % units.length)]);
+                }
+                String str = value.toString();
+                int codePoints = Character.codePointCount(str, 0, str.length());
+                boolean expected = 5 <= codePoints && codePoints <= 10;
+                Set<?> violations = validator.validateValue(SurrogatePair.class, "test", str);
+                assertThat(str, violations.isEmpty(), is(expected));
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.validation.ee.sample.BeanDomain;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidationException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link NamespacedDomainManager}のテスト。
+ */
+public class NamespacedDomainManagerTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource("nablarch/core/validation/ee/beanValidation.xml");
+
+    /** テスト対象を生成する。 */
+    private static NamespacedDomainManager createManager() {
+        NamespacedDomainManager manager = new NamespacedDomainManager();
+        manager.setDefaultDomainBean(BeanDomain.class.getName());
+        manager.setDomainBeans(Collections.singletonMap("sample", SampleDomain.class.getName()));
+        return manager;
+    }
+
+    /** 名前空間を含むドメイン名が、名前空間のドメイン定義Beanのプロパティに対応すること。 */
+    @Test
+    public void testGetDefinition() {
+        NamespacedDomainManager sut = createManager();
+        Map<String, DomainDefinition> index = sut.getIndex();
+        assertThat(index.keySet(), containsInAnyOrder("demoDomain", "sample.name", "sample.money", "sample.bigMoney"));
+
+        DomainDefinition definition = sut.getDefinition("sample.money");
+        assertThat(definition.getDomainBean(), is((Object) SampleDomain.class));
+        assertThat(definition.getPropertyName(), is("money"));
+        assertThat(sut.getDefinition("demoDomain").getDomainBean(), is((Object) BeanDomain.class));
+        assertThat(sut.getDefinition("money"), is(nullValue()));
+        assertThat(sut.getIndex(), is(sameInstance(index)));
+    }
+
+    /** デフォルトのドメイン定義Beanが取得できること。 */
+    @Test
+    public void testGetDomainBean() {
+        assertThat(createManager().getDomainBean(), is((Object) BeanDomain.class));
+    }
+
+    /** デフォルトのドメイン定義Beanが設定されていない場合、例外が送出されること。 */
+    @Test(expected = IllegalStateException.class)
+    public void testGetDomainBeanNotSet() {
+        new NamespacedDomainManager().getDomainBean();
+    }
+
+    /** ドメイン定義Beanのクラスが存在しない場合、例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testClassNotFound() {
+        NamespacedDomainManager sut = new NamespacedDomainManager();
+        sut.setDomainBeans(Collections.singletonMap("notFound", "nablarch.core.validation.ee.NotFoundDomain"));
+        sut.getIndex();
+    }
+
+    /** 名前空間ごとのドメイン定義Beanのプロパティでバリデーションが行われること。 */
+    @Test
+    public void testValidate() {
+        repositoryResource.addComponent("domainManager", createManager());
+        TestBean bean = new TestBean();
+        bean.name = "abcdef";
+        bean.money = new BigDecimal("1000");
+        bean.demo = "123";
+
+        List<String> messages = new ArrayList<String>();
+        for (ConstraintViolation<TestBean> violation : ValidatorUtil.getValidator().validate(bean)) {
+            messages.add(violation.getPropertyPath() + ":" + violation.getMessage());
+        }
+        assertThat(messages, containsInAnyOrder(
+                "name:5文字以内で入力してください。",
+                "name:英大文字でないですよ。",
+                "money:整数部は3桁以内で入力してください。",
+                "demo:5文字以上10文字以内で入力してください。"));
+    }
+
+    /** 存在しないドメイン名が指定された場合、例外が送出されること。 */
+    @Test
+    public void testValidateUnknownDomain() {
+        repositoryResource.addComponent("domainManager", createManager());
+        try {
+            Set<ConstraintViolation<UnknownDomainBean>> violations = ValidatorUtil.getValidator().validate(new UnknownDomainBean());
+            fail(violations.toString());
+        } catch (ValidationException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+    }
+
+    /** {@link DomainCatalog}では、デフォルトでは名前空間のドメイン定義Beanのメタデータが生成されないこと。 */
+    @Test
+    public void testCatalog() {
+        repositoryResource.addComponent("domainManager", createManager());
+        DomainCatalog catalog = new DomainCatalog();
+        catalog.initialize();
+        assertThat(catalog.getWarmedDomainBeans(), containsInAnyOrder((Object) BeanDomain.class));
+    }
+
+    /** {@link DomainCatalog}で指定した名前空間のドメイン定義Beanのメタデータが生成されること。 */
+    @Test
+    public void testCatalogWarmUpNamespaces() {
+        repositoryResource.addComponent("domainManager", createManager());
+        DomainCatalog catalog = new DomainCatalog();
+        catalog.setWarmUpDefaultDomainBean(false);
+        catalog.setWarmUpNamespaces(Collections.singletonList("sample"));
+        catalog.initialize();
+        assertThat(catalog.getWarmedDomainBeans(), containsInAnyOrder((Object) SampleDomain.class));
+    }
+
+    /** {@link DomainCatalog}で存在しない名前空間を指定した場合、例外が送出されること。 */
+    @Test
+    public void testCatalogUnknownNamespace() {
+        repositoryResource.addComponent("domainManager", createManager());
+        DomainCatalog catalog = new DomainCatalog();
+        catalog.setWarmUpNamespaces(Arrays.asList("sample", "unknown"));
+        try {
+            catalog.initialize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("namespace was not found in domain manager. namespaces=[unknown]"));
+        }
+    }
+
+    /** テスト用のBean */
+    public static class TestBean {
+
+        @Domain("sample.name")
+        String name;
+
+        @Domain("sample.money")
+        BigDecimal money;
+
+        @Domain("demoDomain")
+        String demo;
+    }
+
+    /** 存在しないドメイン名を指定したBean */
+    public static class UnknownDomainBean {
+
+        @Domain("sample.unknown")
+        String unknown;
+    }
+}
@@ -126,6 +126,23 @@ public class NumberRangeValidatorTest extends BeanValidationTestCase {
         assertThat(v.getMessage(), is("10以内で入力してください。"));
     }
 
+    /**
+     * 整数、小数、桁数の多い数値文字列のいずれでも、範囲の境界値が正しく判定されること。
+     */
+    @Test
+    public void testStringBoundary() {
+        String[] validValues = {"15", "-3", "+15", "15.0", "-3.00", "0000000000000000000015", "14.99999999999999999999"};
+        for (String value : validValues) {
+            bean.str = value;
+            assertThat(value, validator.validate(bean).size(), is(0));
+        }
+        String[] invalidValues = {"16", "-4", "15.1", "-3.01", "100000000000000000000", "-9223372036854775809"};
+        for (String value : invalidValues) {
+            bean.str = value;
+            assertThat(value, validator.validate(bean).size(), is(1));
+        }
+    }
+
     /**
      * 全角数値の場合にバリデーションエラーが発生すること。
      */
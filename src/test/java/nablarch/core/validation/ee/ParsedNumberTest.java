@@ -0,0 +1,110 @@
+package nablarch.core.validation.ee;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * {@link ParsedNumber}のテスト。
+ */
+public class ParsedNumberTest {
+
+    /** 従来の数値文字列の判定に使用していたパターン */
+    private static final Pattern PATTERN = Pattern.compile("^[+-]?\\d*\\.?\\d+$");
+
+    /** 解析対象の文字列 */
+    private static final String[] VALUES = {
+            "0", "1", "-1", "+1", "007", "-0", "+0", "0.0", "0.00", "-0.0", ".5", "-.5", "+.5", "1.5", "-1.50",
+            "0.001", "100", "123456789012345678", "-123456789012345678", "999999999999999999",
+            "1234567890123456789", "-9223372036854775808", "9223372036854775807", "9223372036854775808",
+            "000000000000000000000001", "0.000000000000000000001", "12345678901234567890.123456789",
+            "", "+", "-", ".", "1.", "-1.", "1.2.3", "1e3", "1,000", " 1", "1 ", "--1", "+-1", "１", "0x10", "a"
+    };
+
+    /** 数値文字列の形式の判定結果が、従来のパターンと同じになること。 */
+    @Test
+    public void testParseSyntax() {
+        for (String value : VALUES) {
+            assertThat(value, ParsedNumber.parse(value) != null, is(PATTERN.matcher(value).matches()));
+        }
+    }
+
+    /** 解析結果が{@link BigDecimal#BigDecimal(String)}と同じになること。 */
+    @Test
+    public void testParse() {
+        for (String value : VALUES) {
+            ParsedNumber sut = ParsedNumber.parse(value);
+            if (sut == null) {
+                continue;
+            }
+            BigDecimal expected = new BigDecimal(value);
+            assertThat(value, sut.toBigDecimal(), is(expected));
+            assertThat(value, sut.scale(), is(expected.scale()));
+            assertThat(value, sut.precision(), is(expected.precision()));
+            if (sut.isLong()) {
+                assertThat(value, sut.longValue(), is(expected.longValueExact()));
+            }
+        }
+    }
+
+    /** 小数点を含まない18桁以下の数値文字列は、{@code long}で表せる値として解析されること。 */
+    @Test
+    public void testIsLong() {
+        assertThat(ParsedNumber.parse("-123456789012345678").isLong(), is(true));
+        assertThat(ParsedNumber.parse("000000000000000000000001").isLong(), is(true));
+        assertThat(ParsedNumber.parse("1234567890123456789").isLong(), is(false));
+        assertThat(ParsedNumber.parse("1.0").isLong(), is(false));
+
+        ParsedNumber sut = ParsedNumber.parse("12");
+        sut.toBigDecimal();
+        assertThat(sut.isLong(), is(true));
+    }
+
+    /** 解析結果を共有する範囲内では、同じ{@link String}のインスタンスに対して直前の解析結果が返されること。 */
+    @Test
+    public void testValueOf() {
+        String value = new String("123.45");
+        ParsedNumber.openScope();
+        try {
+            ParsedNumber first = ParsedNumber.valueOf(value);
+            assertThat(ParsedNumber.valueOf(value), is(sameInstance(first)));
+            assertThat(ParsedNumber.valueOf(new String("123.45")), is(not(sameInstance(first))));
+
+            String invalid = new String("abc");
+            assertThat(ParsedNumber.valueOf(invalid), is(nullValue()));
+            assertThat(ParsedNumber.valueOf(invalid), is(nullValue()));
+
+            StringBuilder builder = new StringBuilder("1");
+            assertThat(ParsedNumber.valueOf(builder).longValue(), is(1L));
+            builder.append('2');
+            assertThat(ParsedNumber.valueOf(builder).longValue(), is(12L));
+        } finally {
+            ParsedNumber.closeScope();
+        }
+    }
+
+    /** 解析結果を共有する範囲外では、常に解析されること。 */
+    @Test
+    public void testValueOfOutsideScope() {
+        String value = new String("123.45");
+        assertThat(ParsedNumber.valueOf(value), is(not(sameInstance(ParsedNumber.valueOf(value)))));
+
+        ParsedNumber.openScope();
+        ParsedNumber.openScope();
+        ParsedNumber first = ParsedNumber.valueOf(value);
+        ParsedNumber.closeScope();
+        assertThat("外側の範囲が終了するまでは共有される", ParsedNumber.valueOf(value), is(sameInstance(first)));
+        ParsedNumber.closeScope();
+        assertThat(ParsedNumber.valueOf(value), is(not(sameInstance(first))));
+
+        // 範囲を開始せずに終了しても例外は発生しない
+        ParsedNumber.closeScope();
+    }
+}
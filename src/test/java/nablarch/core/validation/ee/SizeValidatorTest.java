@@ -5,10 +5,14 @@ import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.UnexpectedTypeException;
 
 import org.hamcrest.collection.IsCollectionWithSize;
 
@@ -224,4 +228,84 @@ public class SizeValidatorTest extends BeanValidationTestCase {
 
         assertThat(validator.validate(bean, PremiumUser.class).size(), is(0));
     }
-}
\ No newline at end of file
+
+    private static class VariousTypeSizeBean {
+        @Size(min = 1, max = 2)
+        boolean[] booleans;
+
+        @Size(min = 1, max = 2)
+        byte[] bytes;
+
+        @Size(min = 1, max = 2)
+        char[] chars;
+
+        @Size(min = 1, max = 2)
+        short[] shorts;
+
+        @Size(min = 1, max = 2)
+        int[] ints;
+
+        @Size(min = 1, max = 2)
+        long[] longs;
+
+        @Size(min = 1, max = 2)
+        float[] floats;
+
+        @Size(min = 1, max = 2)
+        double[] doubles;
+
+        @Size(min = 1, max = 2)
+        Map<String, String> map;
+    }
+
+    /** 文字列にSizeを設定したBean */
+    private static class StringSizeBean {
+
+        @Size(max = 2)
+        String text;
+    }
+
+    /** プリミティブ型の配列、Mapの要素数が妥当である場合、バリデーションエラーが0件であること */
+    @Test
+    public void testVariousTypeValid() {
+        VariousTypeSizeBean bean = new VariousTypeSizeBean();
+        bean.booleans = new boolean[1];
+        bean.bytes = new byte[2];
+        bean.chars = new char[1];
+        bean.shorts = new short[2];
+        bean.ints = new int[1];
+        bean.longs = new long[2];
+        bean.floats = new float[1];
+        bean.doubles = new double[2];
+        bean.map = Collections.singletonMap("key", "value");
+        assertThat(validator.validate(bean).size(), is(0));
+    }
+
+    /** プリミティブ型の配列、Mapの要素数が範囲外の場合、バリデーションエラーが発生すること。 */
+    @Test
+    public void testVariousTypeInvalid() {
+        VariousTypeSizeBean bean = new VariousTypeSizeBean();
+        bean.booleans = new boolean[0];
+        bean.bytes = new byte[3];
+        bean.chars = new char[0];
+        bean.shorts = new short[3];
+        bean.ints = new int[0];
+        bean.longs = new long[3];
+        bean.floats = new float[0];
+        bean.doubles = new double[3];
+        bean.map = new HashMap<String, String>();
+        Set<ConstraintViolation<VariousTypeSizeBean>> violations = validator.validate(bean);
+        assertThat(violations.size(), is(9));
+        for (ConstraintViolation<VariousTypeSizeBean> violation : violations) {
+            assertThat(violation.getMessage(), is("1以上2以内で入力してください。"));
+        }
+    }
+
+    /** 文字列にSizeを設定した場合、バリデーション対象の型が不正として例外が発生すること。 */
+    @Test(expected = UnexpectedTypeException.class)
+    public void testString() {
+        StringSizeBean bean = new StringSizeBean();
+        bean.text = "abc";
+        validator.validate(bean);
+    }
+}
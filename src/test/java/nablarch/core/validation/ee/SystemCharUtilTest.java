@@ -0,0 +1,75 @@
+package nablarch.core.validation.ee;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nablarch.core.repository.ObjectLoader;
+import nablarch.core.repository.SystemRepository;
+
+/**
+ * {@link SystemCharUtil}のテスト。
+ */
+public class SystemCharUtilTest extends BeanValidationTestCase {
+
+    @Before
+    public void setUp() {
+        prepareSystemRepository();
+    }
+
+    /** 文字列を判定できること。 */
+    @Test
+    public void testIsValidCharSequence() {
+        assertThat(SystemCharUtil.isValid("英大文字", "VALID", false), is(true));
+        assertThat(SystemCharUtil.isValid("英大文字", new StringBuilder("VALID\n"), false), is(false));
+        assertThat(SystemCharUtil.isValid("英大文字", new StringBuilder("VALID\n"), true), is(true));
+        assertThat(SystemCharUtil.isValid("英大文字", "invalid", false), is(false));
+    }
+
+    /** {@link java.io.Reader}から読み込んだ文字列を判定できること。 */
+    @Test
+    public void testIsValidReader() throws Exception {
+        assertThat(SystemCharUtil.isValid("数字", new StringReader("0123456789"), false), is(true));
+        assertThat(SystemCharUtil.isValid("数字", new StringReader("01234a"), false), is(false));
+    }
+
+    /** エンコードされたバイト列を判定できること。 */
+    @Test
+    public void testIsValidBytes() throws Exception {
+        byte[] bytes = "aABC\r\n".getBytes("Windows-31J");
+        Charset charset = Charset.forName("Windows-31J");
+        assertThat(SystemCharUtil.isValid("英大文字", bytes, 1, 3, charset, false), is(true));
+        assertThat(SystemCharUtil.isValid("英大文字", bytes, 0, 3, charset, false), is(false));
+        assertThat(SystemCharUtil.isValid("英大文字", bytes, 1, 5, charset, false), is(false));
+        assertThat(SystemCharUtil.isValid("英大文字", ByteBuffer.wrap(bytes, 1, 5), charset, true), is(true));
+    }
+
+    /** サロゲートペアを許容するかどうかは、{@link SystemCharConfig}の設定に従うこと。 */
+    @Test
+    public void testSurrogatePair() throws Exception {
+        assertThat(SystemCharUtil.isValid("すべてのコードポイント", new StringReader("𩸽"), false), is(false));
+
+        SystemRepository.load(new ObjectLoader() {
+            public Map<String, Object> load() {
+                SystemCharConfig config = new SystemCharConfig();
+                config.setAllowSurrogatePair(true);
+                return Collections.<String, Object>singletonMap("ee.SystemCharConfig", config);
+            }
+        });
+        assertThat(SystemCharUtil.isValid("すべてのコードポイント", new StringReader("𩸽"), false), is(true));
+    }
+
+    /** 許容文字集合定義が登録されていない場合、例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharsetDefNotFound() {
+        SystemCharUtil.isValid("notFound", "A", false);
+    }
+}
@@ -5,6 +5,7 @@ import static org.hamcrest.collection.IsCollectionWithSize.*;
 import static org.hamcrest.collection.IsEmptyCollection.*;
 import static org.junit.Assert.*;
 
+import java.nio.CharBuffer;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -19,6 +20,7 @@ import org.junit.Test;
 
 import nablarch.core.repository.ObjectLoader;
 import nablarch.core.repository.SystemRepository;
+import nablarch.core.validation.validator.unicode.LiteralCharsetDef;
 
 /**
  * {@link SystemCharValidatorTest}のテストクラス。
@@ -47,6 +49,32 @@ public class SystemCharValidatorTest extends BeanValidationTestCase {
     /** バリデーション対象Bean */
     TestBean bean = new TestBean();
 
+    /** {@link CharSequence}のプロパティを持つBean */
+    private static class CharSequenceBean {
+        @SystemChar(charsetDef = "英大文字")
+        StringBuilder builder;
+
+        @SystemChar(charsetDef = "英大文字", allowLineSeparator = true)
+        CharSequence sequence;
+    }
+
+    /** {@link String}以外の{@link CharSequence}もバリデーションできること。 */
+    @Test
+    public void testCharSequence() {
+        CharSequenceBean bean = new CharSequenceBean();
+        assertThat(validator.validate(bean), empty());
+
+        bean.builder = new StringBuilder("VALID");
+        bean.sequence = CharBuffer.wrap("VALID\r\nVALID");
+        assertThat(validator.validate(bean), empty());
+
+        bean.builder = new StringBuilder("invalid");
+        bean.sequence = CharBuffer.wrap("invalid");
+        Set<ConstraintViolation<CharSequenceBean>> violations = validator.validate(bean);
+        assertThat(violations, hasSize(2));
+        assertThat(violations.iterator().next().getMessage(), is("英大文字でないですよ。"));
+    }
+
     /** バリデーション処理に所要する{@link Validator}のインスタンス。 */
     Validator validator = ValidatorUtil.getValidator();
 
@@ -159,4 +187,33 @@ public class SystemCharValidatorTest extends BeanValidationTestCase {
         Set<?> violations = validator.validateValue(SurrogatePair.class, "test", "\uD867\uDE3D");
         assertThat(violations, hasSize(1));
     }
-}
\ No newline at end of file
+
+    /**
+     * {@link SystemRepository}を再読み込みして許容文字集合定義を差し替えた場合、
+     * 差し替えた許容文字集合定義でバリデーションされること。
+     */
+    @Test
+    public void testReloadCharsetDef() throws Exception {
+        SystemChar.SystemCharValidator sut = new SystemChar.SystemCharValidator();
+        sut.initialize(SurrogatePair.class.getDeclaredField("test").getAnnotation(SystemChar.class));
+        assertThat(sut.isValid("abc"), is(true));
+
+        SystemRepository.load(new ObjectLoader() {
+            public Map<String, Object> load() {
+                LiteralCharsetDef charsetDef = new LiteralCharsetDef();
+                charsetDef.setAllowedCharacters("ab");
+                return Collections.<String, Object> singletonMap("すべてのコードポイント", charsetDef);
+            }
+        });
+        assertThat(sut.isValid("ab"), is(true));
+        assertThat(sut.isValid("abc"), is(false));
+    }
+
+    /** 許容文字集合定義が登録されていない場合、初期化時に例外が送出されること。 */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitializeCharsetDefNotFound() throws Exception {
+        SystemRepository.clear();
+        new SystemChar.SystemCharValidator().initialize(
+                TestBean.class.getDeclaredField("name").getAnnotation(SystemChar.class));
+    }
+}
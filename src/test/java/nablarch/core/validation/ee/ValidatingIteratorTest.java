@@ -0,0 +1,107 @@
+package nablarch.core.validation.ee;
+
+import nablarch.core.message.Message;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ValidatingIterator}のテスト。
+ */
+public class ValidatingIteratorTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource("nablarch/core/validation/ee/beanValidation.xml");
+
+    /** バリデーション対象のBean */
+    public static class Record {
+
+        @Required
+        @Length(max = 3)
+        String value;
+
+        Record(String value) {
+            this.value = value;
+        }
+    }
+
+    /** エラーとなった要素を記録するハンドラ */
+    private static class RecordingHandler implements ValidatingIterator.InvalidElementHandler<Record> {
+
+        final List<Record> records = new ArrayList<Record>();
+
+        final List<List<Message>> messages = new ArrayList<List<Message>>();
+
+        @Override
+        public void handle(Record element, List<Message> messages) {
+            records.add(element);
+            this.messages.add(messages);
+        }
+    }
+
+    /**
+     * バリデーションエラーとならなかった要素のみが返され、
+     * エラーとなった要素はメッセージとともにハンドラに通知されること。
+     */
+    @Test
+    public void testIterate() {
+        Record valid1 = new Record("a");
+        Record invalid1 = new Record(null);
+        Record valid2 = new Record("abc");
+        Record invalid2 = new Record("abcd");
+        RecordingHandler handler = new RecordingHandler();
+
+        Iterator<Record> sut = new ValidatingIterator<Record>(
+                Arrays.asList(valid1, invalid1, valid2, invalid2).iterator(), handler);
+
+        List<Record> actual = new ArrayList<Record>();
+        while (sut.hasNext()) {
+            actual.add(sut.next());
+        }
+
+        assertThat(actual, contains(valid1, valid2));
+        assertThat(handler.records, contains(invalid1, invalid2));
+        assertThat(handler.messages.get(0), hasSize(1));
+        assertThat(handler.messages.get(0).get(0).formatMessage(), is("必須項目です。"));
+        assertThat(handler.messages.get(1).get(0).formatMessage(), is("3文字以内で入力してください。"));
+    }
+
+    /**
+     * 要素が存在しない場合に{@link Iterator#next()}を呼び出すと例外が送出されること。
+     */
+    @Test
+    public void testNoSuchElement() {
+        RecordingHandler handler = new RecordingHandler();
+        Iterator<Record> sut = new ValidatingIterator<Record>(
+                Collections.singletonList(new Record(null)).iterator(), handler);
+        assertThat(sut.hasNext(), is(false));
+        try {
+            sut.next();
+            fail("例外が発生するはず");
+        } catch (NoSuchElementException ignored) {
+        }
+        assertThat(handler.records, hasSize(1));
+    }
+
+    /**
+     * {@link Iterator#remove()}はサポートしないこと。
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemove() {
+        new ValidatingIterator<Record>(
+                Collections.<Record>emptyList().iterator(), new RecordingHandler()).remove();
+    }
+}
@@ -1,6 +1,8 @@
 package nablarch.core.validation.ee;
 
+import nablarch.core.ThreadContext;
 import nablarch.core.message.ApplicationException;
+import nablarch.core.message.Message;
 import nablarch.core.repository.ObjectLoader;
 import nablarch.core.repository.SystemRepository;
 import nablarch.test.support.SystemRepositoryResource;
@@ -15,16 +17,23 @@ import javax.validation.TraversableResolver;
 import javax.validation.Validator;
 import javax.validation.ValidatorContext;
 import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
@@ -61,6 +70,32 @@ public class ValidatorUtilTest {
         assertThat(ValidatorUtil.getValidatorFactory(), is(instanceOf(CustomValidatorFactory.class)));
     }
 
+    /**
+     * {@link ValidatorFactoryBuilder}が変わらない限り、同じ{@link Validator}インスタンスが取得できること。
+     */
+    @Test
+    public void testGetValidatorCached() {
+        final Validator validator = ValidatorUtil.getValidator();
+        assertThat(ValidatorUtil.getValidator(), is(sameInstance(validator)));
+
+        ValidatorUtil.clearCachedValidatorFactory();
+        assertThat("キャッシュをクリアした場合は再取得される", ValidatorUtil.getValidator(), is(not(sameInstance(validator))));
+    }
+
+    /**
+     * {@link ValidatorFactoryBuilder}が切り替わった場合、切り替え後の{@link ValidatorFactory}が使用されること。
+     */
+    @Test
+    public void testGetValidatorFactoryAfterBuilderChanged() {
+        final ValidatorFactory defaultFactory = ValidatorUtil.getValidatorFactory();
+
+        repositoryResource.addComponent("validatorFactoryBuilder", new CustomValidatorFactoryBuilder());
+        assertThat(ValidatorUtil.getValidatorFactory(), is(instanceOf(CustomValidatorFactory.class)));
+
+        SystemRepository.clear();
+        assertThat(ValidatorUtil.getValidatorFactory(), is(sameInstance(defaultFactory)));
+    }
+
     /**
      * Beanを指定してvalidationが簡単に実行できることを確認する。
      * バリデーションエラーの項目があるので、{@link ApplicationException}が送出されること
@@ -367,6 +402,160 @@ public class ValidatorUtilTest {
         }
     }
 
+    /**
+     * {@link ValidatorUtil#tryValidate(Object)}のテスト。
+     * <p/>
+     * バリデーションエラーの項目がある場合、例外は送出されずにエラーメッセージを持つ結果が返却されること。
+     */
+    @Test
+    public void testTryValidateToErrorObject() {
+        SampleBean bean = new SampleBean();
+        bean.lengthTest = "123456";
+
+        ValidationResult result = ValidatorUtil.tryValidate(bean);
+        assertThat(result.isValid(), is(false));
+        assertThat("エラーになるプロパティは2つなので、エラー数は2", result.getMessages(), hasSize(2));
+        List<String> messages = Arrays.asList(
+                result.getMessages().get(0).formatMessage(),
+                result.getMessages().get(1).formatMessage()
+        );
+        assertThat("次のエラーメッセージが含まれているはず", messages, is(containsInAnyOrder("必須項目です。", "1文字以上5文字以内で入力してください。")));
+
+        try {
+            result.orThrow();
+            fail("バリデーションエラーが発生するはず");
+        } catch (ApplicationException e) {
+            assertThat(e.getMessages(), is(result.getMessages()));
+        }
+    }
+
+    /**
+     * {@link ValidatorUtil#tryValidate(Object)}のテスト。
+     * <p/>
+     * バリデーションエラーの項目がない場合、エラーなしの結果が返却されること。
+     */
+    @Test
+    public void testTryValidateToValidObject() {
+        SampleBean bean = new SampleBean();
+        bean.lengthTest = "12345";
+        bean.requiredTest = "test";
+
+        ValidationResult result = ValidatorUtil.tryValidate(bean);
+        assertThat(result.isValid(), is(true));
+        assertThat(result.getMessages(), hasSize(0));
+        result.orThrow();
+    }
+
+    /**
+     * {@link ValidatorUtil#tryValidate(Object, String...)}のテスト。
+     * <p/>
+     * 指定したプロパティのみがバリデーションされること。
+     * プロパティ名が指定されない場合は、エラーなしの結果が返却されること。
+     */
+    @Test
+    public void testTryValidateSpecifiedProperty() {
+        SampleBean bean = new SampleBean();
+        bean.lengthTest = "123456";
+
+        ValidationResult result = ValidatorUtil.tryValidate(bean, "requiredTest", "requiredTest");
+        assertThat("重複するプロパティを指定しても結果は１つ", result.getMessages(), hasSize(1));
+        assertThat(result.getMessages().get(0).formatMessage(), containsString("必須項目です。"));
+
+        assertThat(ValidatorUtil.tryValidate(bean, (String[]) null).isValid(), is(true));
+    }
+
+    /**
+     * {@link ValidatorUtil#tryValidateWithGroup(Object, Class[])}及び
+     * {@link ValidatorUtil#tryValidateProperty(Object, String, Class[])}のテスト。
+     * <p/>
+     * 指定したグループでバリデーションされ、結果が返却されること。
+     */
+    @Test
+    public void testTryValidateWithGroupAndProperty() {
+        SampleBean bean = new SampleBean();
+        bean.groupTest = "ABCDEFG";
+        assertThat(ValidatorUtil.tryValidateWithGroup(bean, SampleBean.Test1.class).isValid(), is(true));
+
+        ValidationResult result = ValidatorUtil.tryValidateWithGroup(bean, SampleBean.Test2.class);
+        assertThat(result.getMessages(), hasSize(1));
+        assertThat(result.getMessages().get(0).formatMessage(), is("数字でないですよ。"));
+
+        bean.specifiedPropertyTest = "abcd";
+        result = ValidatorUtil.tryValidateProperty(bean, "specifiedPropertyTest", SampleBean.Test1.class);
+        assertThat(result.getMessages(), hasSize(1));
+        assertThat(result.getMessages().get(0).formatMessage(), is("2文字で入力してください。"));
+    }
+
+    /**
+     * {@link ValidatorUtil#validateAll(Iterable, ExecutorService, int)}のテスト。
+     * <p/>
+     * バリデーションエラーとなった要素のみが、インデックスをキーとして返却されること。
+     */
+    @Test
+    public void testValidateAll() {
+        List<SampleBean> beans = new ArrayList<SampleBean>();
+        for (int i = 0; i < 5; i++) {
+            SampleBean bean = new SampleBean();
+            bean.requiredTest = i % 2 == 0 ? "test" : null;
+            beans.add(bean);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Map<Integer, List<Message>> result = ValidatorUtil.validateAll(beans, executor, 2);
+            assertThat(result.keySet(), contains(1, 3));
+            assertThat(result.get(1), hasSize(1));
+            assertThat(result.get(1).get(0).formatMessage(), is("必須項目です。"));
+            assertThat(result.get(3), hasSize(1));
+
+            assertThat("エラーがない場合は空", ValidatorUtil.validateAll(beans.subList(0, 1), executor).isEmpty(), is(true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * {@link ValidatorUtil#validateAll(Iterable, ExecutorService, int)}のテスト。
+     * <p/>
+     * 呼び出し元スレッドの言語がバリデーションを実行するスレッドに引き継がれること。
+     */
+    @Test
+    public void testValidateAllInheritsLanguage() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ThreadContext.setLanguage(Locale.JAPANESE);
+            Map<Integer, List<Message>> result = ValidatorUtil.validateAll(
+                    Arrays.asList(new LanguageBean(), new LanguageBean()), executor);
+            assertThat(result.isEmpty(), is(true));
+        } finally {
+            ThreadContext.clear();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * {@link ValidatorUtil#validateAll(Iterable, ExecutorService, int)}のテスト。
+     * <p/>
+     * 1タスクあたりの要素数が1未満の場合、例外が送出されること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidateAllInvalidChunkSize() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ValidatorUtil.validateAll(Arrays.asList(new SampleBean()), executor, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** バリデーションを実行したスレッドの言語を返すBean */
+    public static class LanguageBean {
+        @Required
+        public String getLanguage() {
+            return ThreadContext.getLanguage() == null ? null : ThreadContext.getLanguage().toString();
+        }
+    }
+
     public static final class CustomValidatorFactory implements ValidatorFactory {
         @Override
         public Validator getValidator() { return null; }
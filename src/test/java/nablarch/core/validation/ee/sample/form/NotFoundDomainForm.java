@@ -0,0 +1,12 @@
+package nablarch.core.validation.ee.sample.form;
+
+import nablarch.core.validation.ee.Domain;
+
+/**
+ * ドメイン定義Beanに存在しないドメインを指定したテスト用のBean.
+ */
+public class NotFoundDomainForm {
+
+    @Domain("notFound")
+    public String notFound;
+}
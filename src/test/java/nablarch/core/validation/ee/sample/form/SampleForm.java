@@ -0,0 +1,35 @@
+package nablarch.core.validation.ee.sample.form;
+
+import javax.validation.Valid;
+
+import nablarch.core.validation.ee.Domain;
+import nablarch.core.validation.ee.Required;
+
+/**
+ * ドメインを展開するテスト用のBean.
+ */
+public class SampleForm {
+
+    /** 入力チェックのグループ */
+    public interface Group {
+    }
+
+    @Required
+    @Domain("demoDomain")
+    public String field;
+
+    @Domain.List({
+            @Domain(value = "demoDomain", groups = Group.class)
+    })
+    public String grouped;
+
+    @Valid
+    public SampleForm nested;
+
+    public String property;
+
+    @Domain("demoDomain")
+    public String getProperty() {
+        return property;
+    }
+}